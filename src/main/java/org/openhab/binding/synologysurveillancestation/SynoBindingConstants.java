@@ -59,6 +59,7 @@ public class SynoBindingConstants {
     public static final String CHANNEL_HOMEMODE = "homemode";
     public static final String CHANNEL_EVENT_TRIGGER = "eventtrigger";
     public static final String CHANNEL_SID = "sid";
+    public static final String CHANNEL_STATISTICS = "statistics";
 
     // List of all Channel ids
     public static final String CHANNEL_SNAPSHOT_URI_DYNAMIC = "common#snapshot-uri-dynamic";
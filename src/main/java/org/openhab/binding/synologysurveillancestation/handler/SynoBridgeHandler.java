@@ -14,32 +14,42 @@ package org.openhab.binding.synologysurveillancestation.handler;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.eclipse.smarthome.io.net.http.HttpClientFactory;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
 import org.openhab.binding.synologysurveillancestation.internal.discovery.CameraDiscoveryService;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThread;
+import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadCameraStatus;
+import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadEvent;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadHomeMode;
+import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadLiveUri;
+import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadStatistics;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoHttpClientManager;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoWebApiHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.slf4j.Logger;
@@ -57,9 +67,12 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
     private final Logger logger = LoggerFactory.getLogger(SynoBridgeHandler.class);
     private @Nullable CameraDiscoveryService discoveryService;
     private final SynoWebApiHandler apiHandler;
+    private final SynoHttpClientManager httpClientManager;
     private final Map<String, SynoApiThread<SynoBridgeHandler>> threads = new HashMap<>();
+    private final SynoApiThreadLiveUri liveUriThread;
     private int refreshRateEvents = 3;
     private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
+    private final AtomicLong initializations = new AtomicLong();
     private SynoConfig config = new SynoConfig();
 
     /**
@@ -74,7 +87,7 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
         }
     };
 
-    public SynoBridgeHandler(Bridge bridge, HttpClient httpClient) {
+    public SynoBridgeHandler(Bridge bridge, HttpClientFactory httpClientFactory) {
         super(bridge);
         try {
             this.refreshRateEvents = Integer.parseInt(thing.getConfiguration().get(REFRESH_RATE_EVENTS).toString());
@@ -83,9 +96,16 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
         }
         config = getConfigAs(SynoConfig.class);
 
-        apiHandler = new SynoWebApiHandler(config, httpClient);
+        httpClientManager = new SynoHttpClientManager(httpClientFactory, bridge.getUID().getId(), config);
+        apiHandler = new SynoWebApiHandler(config, httpClientManager.getHttpClient());
         threads.put(SynoApiThread.THREAD_HOMEMODE, new SynoApiThreadHomeMode(this, refreshRateEvents));
+        threads.put(SynoApiThread.THREAD_STATISTICS, new SynoApiThreadStatistics(this));
+        threads.put(SynoApiThread.THREAD_CAMERASTATUS, new SynoApiThreadCameraStatus(this, refreshRateEvents));
+        threads.put(SynoApiThread.THREAD_EVENT, new SynoApiThreadEvent(this, refreshRateEvents));
+        liveUriThread = new SynoApiThreadLiveUri(this, refreshRateEvents);
+        threads.put(SynoApiThread.THREAD_LIVEURI, liveUriThread);
         try {
+            httpClientManager.start();
             reconnect(false);
         } catch (WebApiException e) {
         }
@@ -125,6 +145,11 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
                         updateState(channelUID, new StringType(apiHandler.getSessionID()));
                     }
                     break;
+                case CHANNEL_STATISTICS:
+                    if (command.toString().equals("REFRESH")) {
+                        threads.get(SynoApiThread.THREAD_STATISTICS).runOnce();
+                    }
+                    break;
             }
         } catch (Exception e) {
             logger.error("handle command: {}::{}", getThing().getLabel(), getThing().getUID());
@@ -137,6 +162,22 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
 
     @Override
     public boolean reconnect(boolean forceLogout) throws WebApiException {
+        boolean ret = login(forceLogout);
+        if (ret) {
+            // a new session often follows a lost connection, the pool is refilled in the background
+            apiHandler.prewarmAsync();
+        }
+        return ret;
+    }
+
+    /**
+     * Logs in to the station
+     *
+     * @param forceLogout
+     * @return true if logged in
+     * @throws WebApiException
+     */
+    private boolean login(boolean forceLogout) throws WebApiException {
         if (refreshInProgress.compareAndSet(false, true)) {
             boolean ret = false;
             try {
@@ -166,11 +207,17 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
             if (logger.isDebugEnabled()) {
                 logger.debug("Initialize thing: {}::{}", getThing().getLabel(), getThing().getUID());
             }
+            apiHandler.getStartupStatistics().start();
 
             if (!getConfigAs(SynoConfig.class).equals(config)) {
                 config = getConfigAs(SynoConfig.class);
+                httpClientManager.configure(config);
+                apiHandler.setHttpClient(httpClientManager.getHttpClient());
+                httpClientManager.start();
                 apiHandler.setConfig(config);
-                reconnect(false);
+                login(false);
+            } else {
+                httpClientManager.start();
             }
 
             // if needed add other infos
@@ -178,15 +225,14 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
             // getThing().setProperty(SynoApiResponse.PROP_CAMERANUMBER,
             // infoResponse.getData().get(SynoApiResponse.PROP_CAMERANUMBER).getAsString());
 
-            for (SynoApiThread<SynoBridgeHandler> thread : threads.values()) {
-                thread.start();
-            }
-
-            updateStatus(ThingStatus.ONLINE);
-
-            // Trigger discovery of cameras
-            scheduler.submit(runnable);
-
+            // the client starts with an empty pool, the threads start polling once the connections are warm
+            updateStatus(ThingStatus.UNKNOWN);
+            long generation = initializations.incrementAndGet();
+            apiHandler.prewarmAsync().whenCompleteAsync((warm, failure) -> {
+                if (generation == initializations.get()) {
+                    startPolling();
+                }
+            }, scheduler);
         } catch (WebApiException e) {
             if (e.getCause() instanceof java.util.concurrent.TimeoutException) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "Connection timeout");
@@ -201,11 +247,28 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
 
     }
 
+    /**
+     * Starts the threads and the discovery of cameras
+     */
+    private void startPolling() {
+        for (SynoApiThread<SynoBridgeHandler> thread : threads.values()) {
+            thread.start();
+        }
+
+        updateStatus(ThingStatus.ONLINE);
+
+        // Trigger discovery of cameras
+        scheduler.submit(runnable);
+    }
+
     @Override
     public void dispose() {
+        // a warm-up still in progress doesn't start the threads
+        initializations.incrementAndGet();
         for (SynoApiThread<SynoBridgeHandler> thread : threads.values()) {
             thread.stop();
         }
+        httpClientManager.stop();
     }
 
     @Override
@@ -229,6 +292,9 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
         if (newRefreshRateEvents != this.refreshRateEvents) {
             this.refreshRateEvents = newRefreshRateEvents;
             threads.get(SynoApiThread.THREAD_HOMEMODE).setRefreshRate(this.refreshRateEvents);
+            threads.get(SynoApiThread.THREAD_CAMERASTATUS).setRefreshRate(this.refreshRateEvents);
+            threads.get(SynoApiThread.THREAD_EVENT).setRefreshRate(this.refreshRateEvents);
+            threads.get(SynoApiThread.THREAD_LIVEURI).setRefreshRate(this.refreshRateEvents);
         }
     }
 
@@ -252,6 +318,46 @@ public class SynoBridgeHandler extends BaseBridgeHandler implements SynoHandler
         super.updateState(channelUID, state);
     }
 
+    /**
+     * @return handlers of the online cameras of this station
+     */
+    public List<SynoCameraHandler> getCameraHandlers() {
+        List<SynoCameraHandler> cameraHandlers = new ArrayList<>();
+        for (Thing child : getThing().getThings()) {
+            ThingHandler handler = child.getHandler();
+            if (handler instanceof SynoCameraHandler && child.getStatus() == ThingStatus.ONLINE) {
+                cameraHandlers.add((SynoCameraHandler) handler);
+            }
+        }
+        return cameraHandlers;
+    }
+
+    /**
+     * Updates the live URI channels of a camera from the URIs resolved for all cameras
+     *
+     * @param cameraHandler
+     */
+    public void refreshLiveUri(SynoCameraHandler cameraHandler) {
+        liveUriThread.refresh(cameraHandler);
+    }
+
+    /**
+     * Drops the resolved live URIs of a camera, e.g. after it was reconfigured
+     *
+     * @param cameraId
+     */
+    public void invalidateLiveUri(String cameraId) {
+        liveUriThread.invalidate(cameraId);
+        apiHandler.getApiLiveUri().invalidateCache();
+    }
+
+    /**
+     * @return statistics of the Web API connection
+     */
+    public String getStatistics() {
+        return apiHandler.getStatistics() + ", " + httpClientManager.getPoolStatistics();
+    }
+
     /**
      * @return service scheduler of this Thing
      */
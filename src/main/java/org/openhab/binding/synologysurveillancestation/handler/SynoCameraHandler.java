@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,6 +29,7 @@ import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -42,22 +45,19 @@ import org.openhab.binding.synologysurveillancestation.internal.discovery.SynoDy
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThread;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadCamera;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadCameraEvent;
-import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadEvent;
-import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadLiveUri;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThreadSnapshot;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoEvent;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoWebApiHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.request.SynoApiCamera.Profile;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraEventResponse;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
-import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.PtzOption;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.PtzResponse;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 /**
  * The {@link SynoCameraHandler} is responsible for handling commands, which are
  * sent to one of the channels of a camera Thing.
@@ -72,6 +72,8 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
     private String cameraId = "";
     private boolean ptz = false;
     private final Map<String, SynoApiThread<SynoCameraHandler>> threads = new HashMap<>();
+    // state of the event channels, updated by the event thread of the bridge
+    private final Map<String, SynoEvent> events = new HashMap<>();
     private @Nullable SynoWebApiHandler apiHandler;
 
     private @Nullable SynoDynamicStateDescriptionProvider stateDescriptionProvider;
@@ -100,10 +102,14 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
             logger.error("Error parsing camera Thing configuration");
         }
 
+        events.put(CHANNEL_EVENT_MOTION, new SynoEvent(SynoEvent.EVENT_REASON_MOTION));
+        events.put(CHANNEL_EVENT_ALARM, new SynoEvent(SynoEvent.EVENT_REASON_ALARM));
+        events.put(CHANNEL_EVENT_MANUAL, new SynoEvent(SynoEvent.EVENT_REASON_MANUAL));
+        events.put(CHANNEL_EVENT_EXTERNAL, new SynoEvent(SynoEvent.EVENT_REASON_EXTERNAL));
+        events.put(CHANNEL_EVENT_ACTIONRULE, new SynoEvent(SynoEvent.EVENT_REASON_ACTIONRULE));
+
         threads.put(SynoApiThread.THREAD_SNAPSHOT, new SynoApiThreadSnapshot(this, refreshRateSnapshot));
-        threads.put(SynoApiThread.THREAD_EVENT, new SynoApiThreadEvent(this, refreshRateEvents));
         threads.put(SynoApiThread.THREAD_CAMERA, new SynoApiThreadCamera(this, refreshRateEvents));
-        threads.put(SynoApiThread.THREAD_LIVEURI, new SynoApiThreadLiveUri(this, refreshRateEvents));
         threads.put(SynoApiThread.THREAD_CAMERAEVENT, new SynoApiThreadCameraEvent(this, refreshRateCameraEvent));
     }
 
@@ -131,12 +137,11 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
                         updateState(channelUID, new StringType(uri));
                         break;
                     case CHANNEL_LIVE_URI_RTSP:
-                        String rtsp = apiHandler.getApiLiveUri().getLiveUriResponse(cameraId).getRtsp();
-                        updateState(channelUID, new StringType(rtsp));
-                        break;
                     case CHANNEL_LIVE_URI_MJPEG_HTTP:
-                        String mjpeg = apiHandler.getApiLiveUri().getLiveUriResponse(cameraId).getMjpegHttp();
-                        updateState(channelUID, new StringType(mjpeg));
+                        Bridge bridge = getBridge();
+                        if (bridge != null && bridge.getHandler() instanceof SynoBridgeHandler) {
+                            ((SynoBridgeHandler) bridge.getHandler()).refreshLiveUri(this);
+                        }
                         break;
                     case CHANNEL_MDPARAM_SOURCE:
                     case CHANNEL_MDPARAM_SENSITIVITY:
@@ -215,7 +220,7 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
                 try {
                     List<String> toExclude = new ArrayList<>();
 
-                    CameraResponse cameraDetails = apiHandler.getApiCamera().getInfo(cameraId);
+                    CameraResponse cameraDetails = apiHandler.getApiCamera().getInfo(cameraId, Profile.FULL);
                     Map<String, Object> properties = cameraDetails.getCameraProperties(cameraId);
                     if (properties.isEmpty()) {
                         updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.GONE);
@@ -302,9 +307,8 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
         int refreshRateCameraEvent = Integer
                 .parseInt(thing.getConfiguration().get(REFRESH_RATE_CAMERAEVENT).toString());
         threads.get(SynoApiThread.THREAD_SNAPSHOT).setRefreshRate(refreshRateSnapshot);
-        threads.get(SynoApiThread.THREAD_EVENT).setRefreshRate(refreshRateEvents);
         threads.get(SynoApiThread.THREAD_CAMERA).setRefreshRate(refreshRateEvents);
-        threads.get(SynoApiThread.THREAD_LIVEURI).setRefreshRate(refreshRateEvents);
+        invalidateLiveUri();
         threads.get(SynoApiThread.THREAD_CAMERAEVENT).setRefreshRate(refreshRateCameraEvent);
     }
 
@@ -383,20 +387,21 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
      * @throws WebApiException
      */
     public void updatePresets() throws WebApiException {
-        SimpleResponse listPresetResponse = apiHandler.getApiPTZ().listPresets(cameraId);
-
-        JsonObject data = listPresetResponse.getData();
-        List<StateOption> options = new ArrayList<>();
-        if (data != null) {
-            JsonArray presets = data.getAsJsonArray("presets");
-            if (presets != null) {
-                for (JsonElement preset : presets) {
-                    JsonObject op = preset.getAsJsonObject();
-                    options.add(new StateOption(op.get("id").getAsString(), op.get("name").getAsString()));
-                }
-            }
+        try {
+            updatePresetsAsync().join();
+        } catch (CompletionException e) {
+            throw WebApiException.unwrap(e);
         }
-        stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), CHANNEL_MOVEPRESET), options);
+    }
+
+    /**
+     * load and update options for presets asynchronously
+     *
+     * @return
+     */
+    public CompletableFuture<@Nullable Void> updatePresetsAsync() {
+        return apiHandler.getApiPTZ().listPresetsAsync(cameraId)
+                .thenAccept(response -> updateOptions(response, CHANNEL_MOVEPRESET));
     }
 
     /**
@@ -406,20 +411,96 @@ public class SynoCameraHandler extends BaseThingHandler implements SynoHandler {
      * @throws WebApiException
      */
     public void updatePatrols() throws WebApiException {
-        SimpleResponse listPatrolResponse = apiHandler.getApiPTZ().listPatrol(cameraId);
+        try {
+            updatePatrolsAsync().join();
+        } catch (CompletionException e) {
+            throw WebApiException.unwrap(e);
+        }
+    }
+
+    /**
+     * load and update options for patrols asynchronously
+     *
+     * @return
+     */
+    public CompletableFuture<@Nullable Void> updatePatrolsAsync() {
+        return apiHandler.getApiPTZ().listPatrolAsync(cameraId)
+                .thenAccept(response -> updateOptions(response, CHANNEL_RUNPATROL));
+    }
 
-        JsonObject data = listPatrolResponse.getData();
+    /**
+     * update state options of a channel from a list response
+     *
+     * @param response
+     * @param channelId
+     */
+    private void updateOptions(PtzResponse response, String channelId) {
         List<StateOption> options = new ArrayList<>();
-        if (data != null) {
-            JsonArray patrols = data.getAsJsonArray("patrols");
-            if (patrols != null) {
-                for (JsonElement patrol : patrols) {
-                    JsonObject op = patrol.getAsJsonObject();
-                    options.add(new StateOption(op.get("id").getAsString(), op.get("name").getAsString()));
+        for (PtzOption option : response.getOptions()) {
+            options.add(new StateOption(option.getId(), option.getName()));
+        }
+        stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), channelId), options);
+    }
+
+    /**
+     * The live URIs of this camera are resolved again, e.g. after it was reconfigured
+     */
+    private void invalidateLiveUri() {
+        Bridge bridge = getBridge();
+        if (bridge != null && bridge.getHandler() instanceof SynoBridgeHandler) {
+            ((SynoBridgeHandler) bridge.getHandler()).invalidateLiveUri(cameraId);
+        }
+    }
+
+    /**
+     * @return true if any event channel is linked
+     */
+    public boolean isEventLinked() {
+        for (String eventType : events.keySet()) {
+            if (isLinked(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the state of the event channels
+     */
+    public Map<String, SynoEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Updates event channels from the latest events of this camera
+     *
+     * @param latest latest event per reason since the last poll
+     */
+    public void updateEvents(Map<Integer, SynoEvent> latest) {
+        for (Entry<String, SynoEvent> entry : events.entrySet()) {
+            String eventType = entry.getKey();
+            if (isLinked(eventType)) {
+                SynoEvent event = entry.getValue();
+                Channel channel = getThing().getChannel(eventType);
+                SynoEvent responseEvent = latest.get(event.getReason());
+                if (responseEvent != null) {
+                    if (responseEvent.getEventId() != event.getEventId()) {
+                        event.setEventId(responseEvent.getEventId());
+                        event.setEventCompleted(responseEvent.isEventCompleted());
+                        updateState(channel.getUID(), OnOffType.ON);
+                        if (responseEvent.isEventCompleted()) {
+                            updateState(channel.getUID(), OnOffType.OFF);
+                        }
+                    } else if (responseEvent.isEventCompleted() && !event.isEventCompleted()) {
+                        event.setEventCompleted(true);
+                        updateState(channel.getUID(), OnOffType.OFF);
+                    }
+                } else {
+                    event.setEventCompleted(true);
+                    updateState(channel.getUID(), OnOffType.OFF);
                 }
             }
         }
-        stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), CHANNEL_RUNPATROL), options);
     }
 
     /**
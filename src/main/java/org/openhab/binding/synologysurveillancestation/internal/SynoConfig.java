@@ -26,9 +26,24 @@ public class SynoConfig {
     private String protocol = "http";
     private String host = "";
     private String port = "5000";
+    private String alternativeHosts = "";
     private String username = "";
     private String password = "";
     private int refreshRateEvents = 5;
+    private int maxRequests = 4;
+    private boolean adaptiveLimit = true;
+    private int maxRate = 0;
+    private int batchWindow = 50;
+    private int poolSize = 8;
+    private int idleTimeout = 60;
+    private int connectTimeout = 5000;
+    private boolean gzip = true;
+    private boolean tlsSessionReuse = true;
+    private boolean http2 = false;
+    private int cacheSize = 256;
+    private int requestTimeout = 10000;
+    private boolean hedging = false;
+    private int retryBudget = 5000;
 
     /**
      * Returns the protocol.
@@ -57,6 +72,15 @@ public class SynoConfig {
         return port;
     }
 
+    /**
+     * Returns further addresses of Surveillance Station, e.g. IPv6 or a DNS name.
+     *
+     * @return comma separated list of host, host:port or [IPv6]:port
+     */
+    public String getAlternativeHosts() {
+        return alternativeHosts;
+    }
+
     /**
      * Returns the username.
      *
@@ -82,10 +106,116 @@ public class SynoConfig {
         return refreshRateEvents;
     }
 
+    /**
+     * @return the maximum number of concurrent requests to Surveillance Station
+     */
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * @return true if the number of concurrent requests adapts to the latency of Surveillance Station
+     */
+    public boolean isAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    /**
+     * @return the maximum number of Web API calls per second to Surveillance Station (0 for no limit)
+     */
+    public int getMaxRate() {
+        return maxRate;
+    }
+
+    /**
+     * @return the window in milliseconds to gather calls for a compound request (0 to disable)
+     */
+    public int getBatchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * @return the maximum number of connections to Surveillance Station
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * @return the idle timeout of pooled connections in seconds
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * @return the connect timeout in milliseconds
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * @return true if gzip content decoding is enabled
+     */
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * @return true if TLS sessions are reused for https
+     */
+    public boolean isTlsSessionReuse() {
+        return tlsSessionReuse;
+    }
+
+    /**
+     * @return true if the HTTP/2 transport is used
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * @return the maximum number of cached responses (0 to disable)
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return the maximum request timeout in milliseconds, shorter timeouts are derived from the latency
+     */
+    public int getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @return true if slow idempotent reads are hedged by a second request
+     */
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * @return the time budget in milliseconds for retries of idempotent calls (0 to disable)
+     */
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
     @Override
     public String toString() {
-        return "Config [protocol=" + protocol + ", host=" + host + ", port=" + port + ", username=" + username
-                + ", password=" + "********, refreshRateEvents=" + String.valueOf(refreshRateEvents) + "]";
+        return "Config [protocol=" + protocol + ", host=" + host + ", port=" + port + ", alternativeHosts="
+                + alternativeHosts + ", username=" + username + ", password="
+                + "********, refreshRateEvents=" + String.valueOf(refreshRateEvents)
+                + ", maxRequests=" + String.valueOf(maxRequests) + ", adaptiveLimit=" + String.valueOf(adaptiveLimit)
+                + ", maxRate=" + String.valueOf(maxRate) + ", batchWindow=" + String.valueOf(batchWindow)
+                + ", poolSize=" + String.valueOf(poolSize) + ", idleTimeout=" + String.valueOf(idleTimeout)
+                + ", connectTimeout=" + String.valueOf(connectTimeout) + ", gzip=" + String.valueOf(gzip)
+                + ", tlsSessionReuse=" + String.valueOf(tlsSessionReuse) + ", http2=" + String.valueOf(http2)
+                + ", cacheSize=" + String.valueOf(cacheSize) + ", requestTimeout=" + String.valueOf(requestTimeout)
+                + ", hedging=" + String.valueOf(hedging) + ", retryBudget=" + String.valueOf(retryBudget) + "]";
     }
 
     @Override
@@ -99,6 +229,14 @@ public class SynoConfig {
         SynoConfig cfg = (SynoConfig) obj;
         return cfg.getHost().equals(getHost()) && cfg.getPassword().equals(getPassword())
                 && cfg.getProtocol().equals(getProtocol()) && cfg.getPort().equals(getPort())
-                && cfg.getUsername().equals(getUsername()) && cfg.getRefreshRateEvents() == refreshRateEvents;
+                && cfg.getAlternativeHosts().equals(getAlternativeHosts())
+                && cfg.getUsername().equals(getUsername()) && cfg.getRefreshRateEvents() == refreshRateEvents
+                && cfg.getMaxRequests() == maxRequests && cfg.isAdaptiveLimit() == adaptiveLimit
+                && cfg.getMaxRate() == maxRate && cfg.getBatchWindow() == batchWindow
+                && cfg.getPoolSize() == poolSize && cfg.getIdleTimeout() == idleTimeout
+                && cfg.getConnectTimeout() == connectTimeout && cfg.isGzip() == gzip
+                && cfg.isTlsSessionReuse() == tlsSessionReuse && cfg.isHttp2() == http2
+                && cfg.getCacheSize() == cacheSize && cfg.getRequestTimeout() == requestTimeout
+                && cfg.isHedging() == hedging && cfg.getRetryBudget() == retryBudget;
     }
 }
@@ -30,14 +30,12 @@ import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler
 import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoWebApiHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.request.SynoApiCamera.Profile;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraInfo;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-
 /**
  * The {@link CameraDiscoveryService} is a service for discovering your cameras through Synology API
  *
@@ -94,36 +92,27 @@ public class CameraDiscoveryService extends AbstractDiscoveryService {
                 return;
             }
 
-            CameraResponse response = apiHandler.getApiCamera().listCameras();
+            CameraResponse response = apiHandler.getApiCamera().listCameras(Profile.DISCOVERY);
 
             if (response.isSuccess()) {
-                JsonArray cameras = response.getCameras();
-
                 ThingUID bridgeUID = bridgeHandler.getThing().getUID();
 
-                if (cameras != null) {
-                    for (JsonElement camera : cameras) {
-
-                        if (camera.isJsonObject()) {
-                            JsonObject cam = camera.getAsJsonObject();
-
-                            String cameraId = cam.get("id").getAsString();
+                for (CameraInfo camera : response.getCameras()) {
+                    String cameraId = camera.getId();
 
-                            CameraResponse cameraDetails = apiHandler.getApiCamera().getInfo(cameraId);
+                    CameraResponse cameraDetails = apiHandler.getApiCamera().getInfo(cameraId, Profile.FULL);
 
-                            ThingUID thingUID = new ThingUID(THING_TYPE_CAMERA, bridgeUID, cameraId);
+                    ThingUID thingUID = new ThingUID(THING_TYPE_CAMERA, bridgeUID, cameraId);
 
-                            Map<String, Object> properties = cameraDetails.getCameraProperties(cameraId);
+                    Map<String, Object> properties = cameraDetails.getCameraProperties(cameraId);
 
-                            DiscoveryResult discoveryResult = DiscoveryResultBuilder.create(thingUID)
-                                    .withProperties(properties).withBridge(bridgeHandler.getThing().getUID())
-                                    .withLabel(cam.get("name").getAsString()).build();
+                    DiscoveryResult discoveryResult = DiscoveryResultBuilder.create(thingUID)
+                            .withProperties(properties).withBridge(bridgeHandler.getThing().getUID())
+                            .withLabel(camera.getName()).build();
 
-                            thingDiscovered(discoveryResult);
+                    thingDiscovered(discoveryResult);
 
-                            logger.debug("Discovered a camera thing with ID '{}'", cameraId);
-                        }
-                    }
+                    logger.debug("Discovered a camera thing with ID '{}'", cameraId);
                 }
             }
 
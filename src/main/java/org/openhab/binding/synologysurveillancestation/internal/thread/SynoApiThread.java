@@ -12,8 +12,9 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.thread;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -25,6 +26,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler;
 import org.openhab.binding.synologysurveillancestation.handler.SynoCameraHandler;
 import org.openhab.binding.synologysurveillancestation.handler.SynoHandler;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiCircuitOpenException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
 import org.slf4j.Logger;
@@ -45,32 +47,36 @@ public abstract class SynoApiThread<T extends BaseThingHandler & SynoHandler> {
     public static final String THREAD_SNAPSHOT = "Snapshot";
     public static final String THREAD_EVENT = "Event";
     public static final String THREAD_CAMERA = "Camera";
+    public static final String THREAD_CAMERASTATUS = "CameraStatus";
     public static final String THREAD_HOMEMODE = "HomeMode";
     public static final String THREAD_LIVEURI = "LiveUri";
     public static final String THREAD_CAMERAEVENT = "CameraEvent";
+    public static final String THREAD_STATISTICS = "Statistics";
 
     private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
-    private @Nullable ScheduledFuture<?> future;
+    private volatile SynoPollWheel.@Nullable Task task;
     private int refreshRate; // Refresh rate in seconds
     private final T synoHandler; // Bridge or Camera Thing handler
     private final String name; // Thread name / type
     private final String deviceId; // Thread name / type
 
     /**
-     * Defines a runnable for a refresh job
+     * Defines a runnable for a refresh job. The job doesn't wait for the API response, a tick is skipped while the
+     * previous refresh is still in progress.
      */
     private Runnable runnable = new Runnable() {
         @Override
         public void run() {
-            try {
-                if (refreshInProgress.compareAndSet(false, true)) {
-                    runOnce();
+            if (refreshInProgress.compareAndSet(false, true)) {
+                try {
+                    runAsync().whenComplete((result, e) -> refreshInProgress.set(false));
+                } catch (IllegalStateException e) {
+                    refreshInProgress.set(false);
+                    logger.debug("Thread {}: Refreshing Thing failed, handler might be OFFLINE", name);
+                } catch (RuntimeException e) {
                     refreshInProgress.set(false);
+                    logger.error("Thread {}: Unknown error", name, e);
                 }
-            } catch (IllegalStateException e) {
-                logger.debug("Thread {}: Refreshing Thing failed, handler might be OFFLINE", name);
-            } catch (Exception e) {
-                logger.error("Thread {}: Unknown error", name, e);
             }
         }
     };
@@ -90,53 +96,103 @@ public abstract class SynoApiThread<T extends BaseThingHandler & SynoHandler> {
     }
 
     /**
-     * Starts the refresh job
+     * Starts the refresh job on the poll wheel of the binding, its phase within the refresh interval is spread
+     * against the other jobs with the same refresh rate. A tick is skipped while the previous refresh is in progress.
      */
     public void start() {
         if (refreshRate > 0) {
             ScheduledExecutorService scheduler = synoHandler.getScheduler();
 
             if (scheduler != null) {
-                if (this.name == THREAD_SNAPSHOT) {
-                    future = scheduler.scheduleAtFixedRate(runnable, 0, refreshRate, TimeUnit.SECONDS);
-                } else {
-                    future = scheduler.scheduleWithFixedDelay(runnable, 0, refreshRate, TimeUnit.SECONDS);
+                SynoPollWheel.Task running = task;
+                if (running != null) {
+                    running.cancel();
                 }
+                task = SynoPollWheel.getInstance().schedule(runnable, scheduler, refreshRate, TimeUnit.SECONDS);
             }
         }
     }
 
     /**
-     * Stops the refresh job
+     * Stops the refresh job without blocking, a refresh already in progress completes on its own
      */
     public void stop() {
-        if (future != null) {
-            future.cancel(false);
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-            }
+        SynoPollWheel.Task running = task;
+        if (running != null) {
+            running.cancel();
+            task = null;
         }
     }
 
     /**
-     * Abstract dummy for a refresh function
+     * Abstract dummy for a refresh function. The returned future completes with the refresh result, it fails with
+     * WebApiException on API errors.
      */
-    public abstract boolean refresh() throws Exception;
+    public abstract CompletableFuture<Boolean> refreshAsync();
 
     /**
-     * Run the runnable just once (for manual refresh)
+     * Run the runnable just once (for manual refresh) and wait for its result
      */
     public void runOnce() {
+        try {
+            runAsync().join();
+        } catch (CompletionException e) {
+            logger.debug("Thread {}: Refreshing Thing failed, handler might be OFFLINE", name);
+        }
+    }
+
+    /**
+     * Run the refresh asynchronously, the result is handled on the scheduler of the handler
+     *
+     * @return future completed after the handler status was updated
+     */
+    public CompletableFuture<@Nullable Void> runAsync() {
         if (getSynoHandler().getSynoWebApiHandler() == null) {
             logger.error("DeviceId: {}; Thread: {}; Handler not (yet) initialized", deviceId, name);
         } else if (isNeeded()) {
+            if (usesWebApi() && getSynoHandler().getSynoWebApiHandler().isCircuitOpen()) {
+                // no log and status flood while the station is unreachable, a later tick probes it
+                return CompletableFuture.completedFuture(null);
+            }
+            if (usesWebApi() && getSynoHandler().getSynoWebApiHandler().skipIfThrottled()) {
+                // skipped rather than queued, the next tick polls the current state anyway
+                logger.debug("DeviceId: {}; Thread: {}; Tick skipped, request rate budget exhausted", deviceId, name);
+                return CompletableFuture.completedFuture(null);
+            }
             logger.debug("Thread: " + name + " tick");
-            boolean success = false;
+            CompletableFuture<Boolean> refresh;
             try {
-                success = refresh();
-            } catch (WebApiException e) {
-                if (e.getCause() instanceof java.util.concurrent.TimeoutException) {
+                refresh = refreshAsync();
+            } catch (RuntimeException e) {
+                refresh = new CompletableFuture<>();
+                refresh.completeExceptionally(e);
+            }
+            return refresh.handleAsync(this::handleResult, synoHandler.getScheduler());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Handles the refresh result and updates the handler status
+     *
+     * @param result result of the refresh
+     * @param failure failure of the refresh
+     * @return
+     */
+    private @Nullable Void handleResult(@Nullable Boolean result, @Nullable Throwable failure) {
+        boolean success = result != null && result;
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause instanceof WebApiException || !(cause instanceof RuntimeException)) {
+                // transport failures are handled like API errors
+                WebApiException e = WebApiException.unwrap(failure);
+                if (e instanceof WebApiCircuitOpenException) {
+                    // rejected without being sent, the failures which opened the circuit already set the status
+                    logger.debug("DeviceId: {}; Thread: {}; Station unreachable", deviceId, name);
+                    return null;
+                } else if (e.getCause() instanceof java.util.concurrent.TimeoutException) {
                     logger.debug(
                             "DeviceId: {}; {} API timeout, consider to increase refresh rate ({} s) if seen frequently",
                             deviceId, name, refreshRate);
@@ -152,12 +208,30 @@ public abstract class SynoApiThread<T extends BaseThingHandler & SynoHandler> {
                 } else {
                     logger.error("DeviceId: {}; Thread: {}; Handler gone offline", deviceId, name);
                 }
-            } catch (Exception e) {
-                logger.error("DeviceId: {}; Thread: {}; Critical error:\n", deviceId, name, e);
+            } else if (cause instanceof IllegalStateException) {
+                logger.debug("Thread {}: Refreshing Thing failed, handler might be OFFLINE", name);
+                return null;
+            } else {
+                logger.error("DeviceId: {}; Thread: {}; Critical error:\n", deviceId, name, cause);
             }
+        }
 
+        if (ownsHandlerStatus()) {
             updateStatus(success);
+        } else if (!success) {
+            logger.debug("DeviceId: {}; Thread: {}; Poll failed, keeping handler status", deviceId, name);
         }
+        return null;
+    }
+
+    /**
+     * Returns true if the refresh result decides the status of the handler. Fleet pollers of the bridge return
+     * false, a failed fleet poll must not take the bridge and with it all cameras offline.
+     *
+     * @return true if the handler status is updated on refresh results
+     */
+    protected boolean ownsHandlerStatus() {
+        return true;
     }
 
     /**
@@ -214,4 +288,11 @@ public abstract class SynoApiThread<T extends BaseThingHandler & SynoHandler> {
      */
     public abstract boolean isNeeded();
 
+    /**
+     * @return if this thread calls the Web API, its ticks are subject to the rate budget and circuit breaker
+     */
+    protected boolean usesWebApi() {
+        return true;
+    }
+
 }
@@ -14,18 +14,18 @@ package org.openhab.binding.synologysurveillancestation.internal.thread;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.openhab.binding.synologysurveillancestation.handler.SynoCameraHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
-import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
-import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
 
 /**
- * Thread for getting camera state (enabled, recording)
+ * Thread for refreshing the dynamic snapshot URI and the PTZ options of a camera. The enabled and recording state
+ * of all cameras is polled by {@link SynoApiThreadCameraStatus}.
  *
  * @author Pavion - Initial contribution
  */
@@ -39,8 +39,7 @@ public class SynoApiThreadCamera extends SynoApiThread<SynoCameraHandler> {
 
     @Override
     public boolean isNeeded() {
-        boolean ret = getSynoHandler().isLinked(CHANNEL_ENABLE) || getSynoHandler().isLinked(CHANNEL_RECORD)
-                || getSynoHandler().isLinked(CHANNEL_SNAPSHOT_URI_DYNAMIC);
+        boolean ret = getSynoHandler().isLinked(CHANNEL_SNAPSHOT_URI_DYNAMIC);
         if (getSynoHandler().isPtz()) {
             ret = ret || getSynoHandler().isLinked(CHANNEL_MOVEPRESET) || getSynoHandler().isLinked(CHANNEL_RUNPATROL);
         }
@@ -48,8 +47,8 @@ public class SynoApiThreadCamera extends SynoApiThread<SynoCameraHandler> {
     }
 
     @Override
-    public boolean refresh() throws Exception {
-        boolean ret = true;
+    public CompletableFuture<Boolean> refreshAsync() {
+        CompletableFuture<Boolean> ret = CompletableFuture.completedFuture(true);
 
         SynoCameraHandler cameraHandler = getSynoHandler();
         String cameraId = cameraHandler.getCameraId();
@@ -59,45 +58,27 @@ public class SynoApiThreadCamera extends SynoApiThread<SynoCameraHandler> {
             Thing thing = cameraHandler.getThing();
             int streamId = Integer.parseInt(thing.getConfiguration().get(STREAM_ID).toString());
 
-            String path = cameraHandler.getSynoWebApiHandler().getApiCamera().getSnapshotUri(cameraId, streamId);
-            path += "&timestamp=" + String.valueOf(System.currentTimeMillis());
-            cameraHandler.updateState(channel.getUID(), new StringType(path));
+            try {
+                String path = cameraHandler.getSynoWebApiHandler().getApiCamera().getSnapshotUri(cameraId, streamId);
+                path += "&timestamp=" + String.valueOf(System.currentTimeMillis());
+                cameraHandler.updateState(channel.getUID(), new StringType(path));
+            } catch (WebApiException e) {
+                ret = new CompletableFuture<>();
+                ret.completeExceptionally(e);
+                return ret;
+            }
         }
 
         if (cameraHandler.isPtz()) {
             if (cameraHandler.isLinked(CHANNEL_MOVEPRESET)) {
-                cameraHandler.updatePresets();
+                ret = ret.thenCompose(r -> cameraHandler.updatePresetsAsync().thenApply(v -> r));
             }
             if (cameraHandler.isLinked(CHANNEL_RUNPATROL)) {
-                cameraHandler.updatePatrols();
-            }
-        }
-
-        if (cameraHandler.isLinked(CHANNEL_ENABLE) || cameraHandler.isLinked(CHANNEL_RECORD)) {
-            CameraResponse response = cameraHandler.getSynoWebApiHandler().getApiCamera().getInfo(cameraId);
-            if (response.isSuccess()) {
-                if (cameraHandler.isLinked(CHANNEL_ENABLE)) {
-                    Channel channel = cameraHandler.getThing().getChannel(CHANNEL_ENABLE);
-                    cameraHandler.updateState(channel.getUID(),
-                            response.isEnabled(cameraId) ? OnOffType.ON : OnOffType.OFF);
-                }
-                if (cameraHandler.isLinked(CHANNEL_RECORD)) {
-                    Channel channel = cameraHandler.getThing().getChannel(CHANNEL_RECORD);
-                    cameraHandler.updateState(channel.getUID(),
-                            response.isRecording(cameraId) ? OnOffType.ON : OnOffType.OFF);
-                }
-
-                ret &= true;
-
-            } else if (response.getErrorcode() == 105) {
-                throw new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE);
-            } else {
-                ret &= false;
+                ret = ret.thenCompose(r -> cameraHandler.updatePatrolsAsync().thenApply(v -> r));
             }
         }
 
         return ret;
-
     }
 
 }
@@ -14,6 +14,8 @@ package org.openhab.binding.synologysurveillancestation.internal.thread;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -43,11 +45,23 @@ public class SynoApiThreadCameraEvent extends SynoApiThread<SynoCameraHandler> {
     }
 
     @Override
-    public boolean refresh() throws Exception {
+    public CompletableFuture<Boolean> refreshAsync() {
         SynoCameraHandler cameraHandler = getSynoHandler();
         String cameraId = cameraHandler.getCameraId();
 
-        CameraEventResponse response = cameraHandler.getSynoWebApiHandler().getApiCameraEvent().getMDParam(cameraId);
+        return cameraHandler.getSynoWebApiHandler().getApiCameraEvent().getMDParamAsync(cameraId)
+                .thenApply(this::updateMDParam);
+    }
+
+    /**
+     * Updates motion detection channels from response
+     *
+     * @param response
+     * @return
+     */
+    private boolean updateMDParam(CameraEventResponse response) {
+        SynoCameraHandler cameraHandler = getSynoHandler();
+
         if (!response.isSuccess()) {
             return false;
         }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.thread;
+
+import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler;
+import org.openhab.binding.synologysurveillancestation.handler.SynoCameraHandler;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.request.SynoApiCamera.Profile;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
+
+/**
+ * Thread for getting the state (enabled, recording) of all cameras of a station. A single camera list call per tick
+ * serves every camera, the states are pushed to the camera handlers.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiThreadCameraStatus extends SynoApiThread<SynoBridgeHandler> {
+    // private final Logger logger = LoggerFactory.getLogger(SynoApiThreadCameraStatus.class);
+
+    public SynoApiThreadCameraStatus(SynoBridgeHandler handler, int refreshRate) {
+        super(SynoApiThread.THREAD_CAMERASTATUS, handler, refreshRate);
+    }
+
+    @Override
+    public boolean isNeeded() {
+        for (SynoCameraHandler cameraHandler : getSynoHandler().getCameraHandlers()) {
+            if (cameraHandler.isLinked(CHANNEL_ENABLE) || cameraHandler.isLinked(CHANNEL_RECORD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected boolean ownsHandlerStatus() {
+        // a failed status poll leaves bridge and cameras as they are
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refreshAsync() {
+        return getSynoHandler().getSynoWebApiHandler().getApiCamera().listCamerasAsync(Profile.STATUS)
+                .thenApply(this::updateCameraStates);
+    }
+
+    /**
+     * Updates enabled and recording state of all cameras from camera response
+     *
+     * @param response
+     * @return
+     */
+    private boolean updateCameraStates(CameraResponse response) {
+        if (response.isSuccess()) {
+            List<SynoCameraHandler> cameraHandlers = getSynoHandler().getCameraHandlers();
+            for (SynoCameraHandler cameraHandler : cameraHandlers) {
+                String cameraId = cameraHandler.getCameraId();
+                if (cameraHandler.isLinked(CHANNEL_ENABLE)) {
+                    Channel channel = cameraHandler.getThing().getChannel(CHANNEL_ENABLE);
+                    cameraHandler.updateState(channel.getUID(),
+                            response.isEnabled(cameraId) ? OnOffType.ON : OnOffType.OFF);
+                }
+                if (cameraHandler.isLinked(CHANNEL_RECORD)) {
+                    Channel channel = cameraHandler.getThing().getChannel(CHANNEL_RECORD);
+                    cameraHandler.updateState(channel.getUID(),
+                            response.isRecording(cameraId) ? OnOffType.ON : OnOffType.OFF);
+                }
+            }
+            return true;
+        } else if (response.getErrorcode() == 105) {
+            throw new CompletionException(new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE));
+        } else {
+            return false;
+        }
+    }
+
+}
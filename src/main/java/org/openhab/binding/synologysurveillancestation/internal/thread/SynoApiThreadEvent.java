@@ -12,98 +12,161 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.thread;
 
-import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
-
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.library.types.OnOffType;
-import org.eclipse.smarthome.core.thing.Channel;
-import org.eclipse.smarthome.core.thing.Thing;
+import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler;
 import org.openhab.binding.synologysurveillancestation.handler.SynoCameraHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoEvent;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.request.SynoApiEvent;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.EventResponse;
 
 /**
- * Thread for getting camera events (motion, alarm)
+ * Thread for getting the events (motion, alarm) of all cameras of a station. One paged event list call per tick
+ * serves every camera, the latest event per camera and reason is routed to the camera handlers.
  *
  * @author Pavion - Initial contribution
  */
 @NonNullByDefault
-public class SynoApiThreadEvent extends SynoApiThread<SynoCameraHandler> {
+public class SynoApiThreadEvent extends SynoApiThread<SynoBridgeHandler> {
     // private final Logger logger = LoggerFactory.getLogger(SynoApiThreadEvent.class);
 
-    private long lastEventTime;
-    private Map<String, SynoEvent> events = new HashMap<>();
+    // upper limit of pages per tick, older events are not needed for the current state
+    private static final int MAX_PAGES = 10;
+
+    private volatile long lastEventTime;
+
+    /**
+     * Events collected from the pages of one tick
+     */
+    private static class EventPoll {
+        private final Map<String, Map<Integer, SynoEvent>> latest = new HashMap<>();
+        private long timestamp = Long.MAX_VALUE;
+
+        /**
+         * Adds a page, the event with the latest start time per camera and reason is kept
+         *
+         * @param response
+         */
+        private void add(EventResponse response) {
+            for (String cameraId : response.getCameraIds()) {
+                Map<Integer, SynoEvent> cameraEvents = latest.computeIfAbsent(cameraId, k -> new HashMap<>());
+                response.getEvents(cameraId).forEach((reason, event) -> cameraEvents.merge(reason, event,
+                        SynoEvent::newer));
+            }
+            timestamp = Math.min(timestamp, response.getTimestamp());
+        }
+
+        private Map<Integer, SynoEvent> getEvents(String cameraId) {
+            return latest.getOrDefault(cameraId, new HashMap<>());
+        }
+    }
 
-    public SynoApiThreadEvent(SynoCameraHandler handler, int refreshRate) {
+    public SynoApiThreadEvent(SynoBridgeHandler handler, int refreshRate) {
         super(SynoApiThread.THREAD_EVENT, handler, refreshRate);
         lastEventTime = ZonedDateTime.now().minusSeconds(refreshRate * 2).toEpochSecond();
-        events.put(CHANNEL_EVENT_MOTION, new SynoEvent(SynoEvent.EVENT_REASON_MOTION));
-        events.put(CHANNEL_EVENT_ALARM, new SynoEvent(SynoEvent.EVENT_REASON_ALARM));
-        events.put(CHANNEL_EVENT_MANUAL, new SynoEvent(SynoEvent.EVENT_REASON_MANUAL));
-        events.put(CHANNEL_EVENT_EXTERNAL, new SynoEvent(SynoEvent.EVENT_REASON_EXTERNAL));
-        events.put(CHANNEL_EVENT_ACTIONRULE, new SynoEvent(SynoEvent.EVENT_REASON_ACTIONRULE));
     }
 
     @Override
     public boolean isNeeded() {
-        return (getSynoHandler().isLinked(CHANNEL_EVENT_MOTION) || getSynoHandler().isLinked(CHANNEL_EVENT_ALARM)
-                || getSynoHandler().isLinked(CHANNEL_EVENT_MANUAL) || getSynoHandler().isLinked(CHANNEL_EVENT_EXTERNAL)
-                || getSynoHandler().isLinked(CHANNEL_EVENT_ACTIONRULE));
+        return !getEventHandlers().isEmpty();
     }
 
     @Override
-    public boolean refresh() throws Exception {
-        SynoCameraHandler cameraHandler = getSynoHandler();
-        Thing thing = cameraHandler.getThing();
-
-        EventResponse response = cameraHandler.getSynoWebApiHandler().getApiEvent()
-                .getEventResponse(cameraHandler.getCameraId(), lastEventTime, events);
-        if (response.isSuccess()) {
-            for (String eventType : events.keySet()) {
-                if (getSynoHandler().isLinked(eventType)) {
-                    SynoEvent event = events.get(eventType);
-                    Channel channel = cameraHandler.getThing().getChannel(eventType);
-                    if (response.hasEvent(event.getReason())) {
-                        SynoEvent responseEvent = response.getEvent(event.getReason());
-                        if (responseEvent.getEventId() != event.getEventId()) {
-                            event.setEventId(responseEvent.getEventId());
-                            event.setEventCompleted(responseEvent.isEventCompleted());
-                            cameraHandler.updateState(channel.getUID(), OnOffType.ON);
-                            if (responseEvent.isEventCompleted()) {
-                                cameraHandler.updateState(channel.getUID(), OnOffType.OFF);
-                            }
-                        } else if (responseEvent.getEventId() == event.getEventId() && responseEvent.isEventCompleted()
-                                && !event.isEventCompleted()) {
-                            event.setEventCompleted(true);
-                            cameraHandler.updateState(channel.getUID(), OnOffType.OFF);
-                        }
-                    } else {
-                        event.setEventCompleted(true);
-                        cameraHandler.updateState(channel.getUID(), OnOffType.OFF);
-                    }
-                }
+    protected boolean ownsHandlerStatus() {
+        // a failed event poll is retried on the next tick, bridge and cameras stay as they are
+        return false;
+    }
+
+    /**
+     * @return camera handlers with linked event channels
+     */
+    private List<SynoCameraHandler> getEventHandlers() {
+        List<SynoCameraHandler> eventHandlers = new ArrayList<>();
+        for (SynoCameraHandler cameraHandler : getSynoHandler().getCameraHandlers()) {
+            if (cameraHandler.isEventLinked()) {
+                eventHandlers.add(cameraHandler);
             }
+        }
+        return eventHandlers;
+    }
 
-            lastEventTime = response.getTimestamp();
-            return true;
-        } else if (response.getErrorcode() == 105) {
-            throw new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE);
-        } else {
-            return false;
+    @Override
+    public CompletableFuture<Boolean> refreshAsync() {
+        List<SynoCameraHandler> eventHandlers = getEventHandlers();
+        List<String> cameraIds = new ArrayList<>();
+        Set<Integer> reasons = new TreeSet<>();
+        for (SynoCameraHandler cameraHandler : eventHandlers) {
+            cameraIds.add(cameraHandler.getCameraId());
+            for (SynoEvent event : cameraHandler.getEvents().values()) {
+                reasons.add(event.getReason());
+            }
         }
+        if (cameraIds.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        EventPoll poll = new EventPoll();
+        SynoApiEvent api = getSynoHandler().getSynoWebApiHandler().getApiEvent();
+        return pollAsync(api, cameraIds, reasons, 0, 0, poll)
+                .thenApply(success -> success && updateEvents(eventHandlers, poll));
     }
 
     /**
-     * @return the events
+     * Reads the pages of events since the last poll, latest first
+     *
+     * @param api
+     * @param cameraIds
+     * @param reasons
+     * @param offset offset of the page
+     * @param page number of the page, starting with 0
+     * @param poll collected events
+     * @return future completed with true if all pages were read
      */
-    public Map<String, SynoEvent> getEvents() {
-        return events;
+    private CompletableFuture<Boolean> pollAsync(SynoApiEvent api, List<String> cameraIds, Set<Integer> reasons,
+            int offset, int page, EventPoll poll) {
+        return api.getEventResponseAsync(cameraIds, lastEventTime, reasons, offset).thenCompose(response -> {
+            if (!response.isSuccess()) {
+                if (response.getErrorcode() == 105) {
+                    throw new CompletionException(
+                            new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE));
+                }
+                return CompletableFuture.completedFuture(false);
+            }
+            poll.add(response);
+            int next = offset + response.getEventCount();
+            if (response.getEventCount() > 0 && next < response.getTotal() && page + 1 < MAX_PAGES) {
+                return pollAsync(api, cameraIds, reasons, next, page + 1, poll);
+            }
+            return CompletableFuture.completedFuture(true);
+        });
+    }
+
+    /**
+     * Routes the collected events to the camera handlers
+     *
+     * @param eventHandlers
+     * @param poll
+     * @return
+     */
+    private boolean updateEvents(List<SynoCameraHandler> eventHandlers, EventPoll poll) {
+        for (SynoCameraHandler cameraHandler : eventHandlers) {
+            cameraHandler.updateEvents(poll.getEvents(cameraHandler.getCameraId()));
+        }
+        if (poll.timestamp != Long.MAX_VALUE) {
+            lastEventTime = poll.timestamp;
+        }
+        return true;
     }
 
 }
@@ -14,6 +14,9 @@ package org.openhab.binding.synologysurveillancestation.internal.thread;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.CHANNEL_HOMEMODE;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Channel;
@@ -41,9 +44,19 @@ public class SynoApiThreadHomeMode extends SynoApiThread<SynoBridgeHandler> {
     }
 
     @Override
-    public boolean refresh() throws Exception {
+    public CompletableFuture<Boolean> refreshAsync() {
         SynoBridgeHandler bridgeHandler = getSynoHandler();
-        HomeModeResponse response = bridgeHandler.getSynoWebApiHandler().getApiHomeMode().getHomeModeResponse();
+        return bridgeHandler.getSynoWebApiHandler().getApiHomeMode().getHomeModeResponseAsync()
+                .thenApply(this::updateHomeMode);
+    }
+
+    /**
+     * Updates Home Mode channel from response
+     *
+     * @param response
+     * @return
+     */
+    private boolean updateHomeMode(HomeModeResponse response) {
         if (response.isSuccess()) {
             if (getSynoHandler().isLinked(CHANNEL_HOMEMODE)) {
                 Channel channel = getSynoHandler().getThing().getChannel(CHANNEL_HOMEMODE);
@@ -51,7 +64,7 @@ public class SynoApiThreadHomeMode extends SynoApiThread<SynoBridgeHandler> {
             }
             return true;
         } else if (response.getErrorcode() == 119) {
-            throw new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE);
+            throw new CompletionException(new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE));
         } else {
             return false;
         }
@@ -14,60 +14,171 @@ package org.openhab.binding.synologysurveillancestation.internal.thread;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Channel;
+import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler;
 import org.openhab.binding.synologysurveillancestation.handler.SynoCameraHandler;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoWebApiHandler;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.LiveUri;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.LiveUriResponse;
 
 /**
- * Thread for refreshing live URIs (RTSP or MJPEG over HTTP)
+ * Thread for resolving the live URIs (RTSP or MJPEG over HTTP) of all cameras of a station. The paths only change
+ * with the session or the camera configuration, so they are resolved in one call for all cameras and kept until the
+ * session changes or a camera is reconfigured. A tick without new cameras sends no request.
  *
  * @author Pavion - Initial contribution
  */
 @NonNullByDefault
-public class SynoApiThreadLiveUri extends SynoApiThread<SynoCameraHandler> {
-    // private final Logger logger = LoggerFactory.getLogger(SynoApiThreadCamera.class);
+public class SynoApiThreadLiveUri extends SynoApiThread<SynoBridgeHandler> {
+    // private final Logger logger = LoggerFactory.getLogger(SynoApiThreadLiveUri.class);
+
+    private final Map<String, LiveUri> uris = new ConcurrentHashMap<>();
+    private volatile String sessionId = "";
+    private @Nullable CompletableFuture<@Nullable Void> resolving;
 
-    public SynoApiThreadLiveUri(SynoCameraHandler handler, int refreshRate) {
+    public SynoApiThreadLiveUri(SynoBridgeHandler handler, int refreshRate) {
         super(SynoApiThread.THREAD_LIVEURI, handler, refreshRate);
     }
 
     @Override
     public boolean isNeeded() {
-        return (getSynoHandler().isLinked(CHANNEL_LIVE_URI_RTSP)
-                || getSynoHandler().isLinked(CHANNEL_LIVE_URI_MJPEG_HTTP));
+        for (SynoCameraHandler cameraHandler : getSynoHandler().getCameraHandlers()) {
+            if (isLiveUriLinked(cameraHandler)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiveUriLinked(SynoCameraHandler cameraHandler) {
+        return cameraHandler.isLinked(CHANNEL_LIVE_URI_RTSP) || cameraHandler.isLinked(CHANNEL_LIVE_URI_MJPEG_HTTP);
+    }
+
+    /**
+     * Drops the live URIs of a camera, they are resolved again on the next tick
+     *
+     * @param cameraId
+     */
+    public void invalidate(String cameraId) {
+        uris.remove(cameraId);
+    }
+
+    /**
+     * Updates the live URI channels of a camera. Known URIs are served without a request, otherwise the URIs of all
+     * unresolved cameras are resolved in one call, a call already in progress is shared.
+     *
+     * @param cameraHandler
+     */
+    public void refresh(SynoCameraHandler cameraHandler) {
+        LiveUri uri = uris.get(cameraHandler.getCameraId());
+        if (uri != null && sessionId.equals(getSynoHandler().getSynoWebApiHandler().getSessionID())) {
+            updateChannels(cameraHandler, uri);
+        } else {
+            resolve();
+        }
+    }
+
+    /**
+     * Resolves the live URIs of all unresolved cameras unless a call is already in progress
+     */
+    private synchronized void resolve() {
+        CompletableFuture<@Nullable Void> running = resolving;
+        if (running == null || running.isDone()) {
+            resolving = runAsync();
+        }
     }
 
     @Override
-    public boolean refresh() throws Exception {
-        SynoCameraHandler cameraHandler = getSynoHandler();
-        String cameraId = cameraHandler.getCameraId();
+    protected boolean ownsHandlerStatus() {
+        // unresolved URIs are retried on the next tick, bridge and cameras stay as they are
+        return false;
+    }
 
-        LiveUriResponse response = cameraHandler.getSynoWebApiHandler().getApiLiveUri().getLiveUriResponse(cameraId);
+    @Override
+    public CompletableFuture<Boolean> refreshAsync() {
+        SynoWebApiHandler apiHandler = getSynoHandler().getSynoWebApiHandler();
+        String session = apiHandler.getSessionID();
+        if (!session.equals(sessionId)) {
+            // the paths carry the session
+            uris.clear();
+            sessionId = session;
+        }
 
-        if (response.isSuccess()) {
-            if (cameraHandler.isLinked(CHANNEL_LIVE_URI_RTSP)) {
-                Channel channel = cameraHandler.getThing().getChannel(CHANNEL_LIVE_URI_RTSP);
-                String uri = response.getRtsp();
-                cameraHandler.updateState(channel.getUID(), new StringType(uri));
+        List<SynoCameraHandler> unresolved = new ArrayList<>();
+        List<String> cameraIds = new ArrayList<>();
+        for (SynoCameraHandler cameraHandler : getSynoHandler().getCameraHandlers()) {
+            if (isLiveUriLinked(cameraHandler) && !uris.containsKey(cameraHandler.getCameraId())) {
+                unresolved.add(cameraHandler);
+                cameraIds.add(cameraHandler.getCameraId());
             }
+        }
+        if (cameraIds.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
 
-            if (cameraHandler.isLinked(CHANNEL_LIVE_URI_MJPEG_HTTP)) {
-                Channel channel = cameraHandler.getThing().getChannel(CHANNEL_LIVE_URI_MJPEG_HTTP);
-                String uri = response.getMjpegHttp();
-                cameraHandler.updateState(channel.getUID(), new StringType(uri));
+        return apiHandler.getApiLiveUri().getLiveUriResponseAsync(cameraIds)
+                .thenApply(response -> updateLiveUris(response, unresolved, session));
+    }
+
+    /**
+     * Updates live URI channels of the resolved cameras from response
+     *
+     * @param response
+     * @param cameraHandlers
+     * @param session session of the request
+     * @return
+     */
+    private boolean updateLiveUris(LiveUriResponse response, List<SynoCameraHandler> cameraHandlers,
+            String session) {
+        if (response.isSuccess()) {
+            for (SynoCameraHandler cameraHandler : cameraHandlers) {
+                LiveUri uri = response.getUri(cameraHandler.getCameraId());
+                if (uri == null) {
+                    continue;
+                }
+                if (session.equals(sessionId)) {
+                    uris.put(cameraHandler.getCameraId(), uri);
+                }
+                updateChannels(cameraHandler, uri);
             }
 
             return true;
         } else if (response.getErrorcode() == 105) {
-            throw new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE);
+            throw new CompletionException(new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE));
         }
 
         return false;
 
     }
 
+    /**
+     * Updates the live URI channels of a camera
+     *
+     * @param cameraHandler
+     * @param uri
+     */
+    private void updateChannels(SynoCameraHandler cameraHandler, LiveUri uri) {
+        if (cameraHandler.isLinked(CHANNEL_LIVE_URI_RTSP)) {
+            Channel channel = cameraHandler.getThing().getChannel(CHANNEL_LIVE_URI_RTSP);
+            cameraHandler.updateState(channel.getUID(), new StringType(uri.getRtspPath()));
+        }
+
+        if (cameraHandler.isLinked(CHANNEL_LIVE_URI_MJPEG_HTTP)) {
+            Channel channel = cameraHandler.getThing().getChannel(CHANNEL_LIVE_URI_MJPEG_HTTP);
+            cameraHandler.updateState(channel.getUID(), new StringType(uri.getMjpegHttpPath()));
+        }
+    }
+
 }
@@ -14,6 +14,8 @@ package org.openhab.binding.synologysurveillancestation.internal.thread;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.thing.Channel;
@@ -40,20 +42,30 @@ public class SynoApiThreadSnapshot extends SynoApiThread<SynoCameraHandler> {
     }
 
     @Override
-    public boolean refresh() throws Exception {
+    public CompletableFuture<Boolean> refreshAsync() {
         SynoCameraHandler cameraHandler = getSynoHandler();
-
-        Channel channel = cameraHandler.getThing().getChannel(CHANNEL_SNAPSHOT);
         Thing thing = cameraHandler.getThing();
 
         int streamId = Integer.parseInt(thing.getConfiguration().get(STREAM_ID).toString());
-        byte[] snapshot = cameraHandler.getSynoWebApiHandler().getApiCamera()
-                .getSnapshot(getSynoHandler().getCameraId(), getRefreshRate(), streamId);
+        return cameraHandler.getSynoWebApiHandler().getApiCamera()
+                .getSnapshotAsync(getSynoHandler().getCameraId(), streamId)
+                .thenApply(this::updateSnapshot);
+    }
+
+    /**
+     * Updates snapshot channel
+     *
+     * @param snapshot
+     * @return
+     */
+    private boolean updateSnapshot(byte[] snapshot) {
+        Channel channel = getSynoHandler().getThing().getChannel(CHANNEL_SNAPSHOT);
         if (snapshot.length < 1000) {
             getSynoHandler().updateState(channel.getUID(), UnDefType.UNDEF);
             return false;
         } else {
             getSynoHandler().updateState(channel.getUID(), new RawType(snapshot, "image/jpeg"));
+            getSynoHandler().getSynoWebApiHandler().getStartupStatistics().snapshot(getSynoHandler().getCameraId());
             return true;
         }
     }
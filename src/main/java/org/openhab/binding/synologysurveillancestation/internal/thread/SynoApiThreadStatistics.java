@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.thread;
+
+import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.CHANNEL_STATISTICS;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.openhab.binding.synologysurveillancestation.handler.SynoBridgeHandler;
+
+/**
+ * Thread for publishing Web API connection statistics of the station
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiThreadStatistics extends SynoApiThread<SynoBridgeHandler> {
+    private static final int REFRESH_RATE = 60;
+
+    public SynoApiThreadStatistics(SynoBridgeHandler handler) {
+        super(SynoApiThread.THREAD_STATISTICS, handler, REFRESH_RATE);
+    }
+
+    @Override
+    public boolean isNeeded() {
+        return (getSynoHandler().isLinked(CHANNEL_STATISTICS));
+    }
+
+    @Override
+    protected boolean usesWebApi() {
+        return false;
+    }
+
+    @Override
+    protected boolean ownsHandlerStatus() {
+        // publishing statistics says nothing about the station
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> refreshAsync() {
+        SynoBridgeHandler bridgeHandler = getSynoHandler();
+        Channel channel = bridgeHandler.getThing().getChannel(CHANNEL_STATISTICS);
+        bridgeHandler.updateState(channel.getUID(), new StringType(bridgeHandler.getStatistics()));
+        return CompletableFuture.completedFuture(true);
+    }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.thread;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SynoPollWheel} is a binding-wide hashed timing wheel owning the schedules of all refresh threads. A
+ * single ticker advances the wheel, due tasks are handed to the executor of their handler.
+ *
+ * The phases of tasks with the same period are spread over the period by the golden ratio sequence, so any number
+ * of cameras starting at once polls at a flat rate instead of a burst at each interval.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public final class SynoPollWheel {
+    private final Logger logger = LoggerFactory.getLogger(SynoPollWheel.class);
+
+    private static final long TICK = 100;
+    private static final int WHEEL_SIZE = 512;
+    private static final double GOLDEN_RATIO = 0.6180339887498949;
+    private static final String POOL_NAME = "thingHandler";
+
+    private static final SynoPollWheel INSTANCE = new SynoPollWheel();
+
+    private final List<Set<Task>> slots = new ArrayList<>(WHEEL_SIZE);
+    // registrations per period, the sequence index of the next phase
+    private final Map<Long, Long> registrations = new HashMap<>();
+    private @Nullable ScheduledFuture<?> ticker;
+    private long tick = 0;
+    private int size = 0;
+
+    /**
+     * A periodic task on the wheel
+     */
+    public final class Task {
+        private final Runnable runnable;
+        private final Executor executor;
+        private final long period;
+        private long rounds;
+        private int slot;
+        private boolean cancelled = false;
+
+        private Task(Runnable runnable, Executor executor, long period) {
+            this.runnable = runnable;
+            this.executor = executor;
+            this.period = period;
+        }
+
+        /**
+         * Removes the task from the wheel, a run already handed to the executor isn't interrupted
+         */
+        public void cancel() {
+            SynoPollWheel.this.cancel(this);
+        }
+    }
+
+    private SynoPollWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * @return the wheel of the binding
+     */
+    public static SynoPollWheel getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules a periodic task. The first run is delayed by the phase of the task within its period.
+     *
+     * @param runnable
+     * @param executor runs the task, e.g. the scheduler of the handler
+     * @param period
+     * @param unit
+     * @return the task, to be cancelled when the handler is stopped
+     */
+    public synchronized Task schedule(Runnable runnable, Executor executor, long period, TimeUnit unit) {
+        long periodTicks = Math.max(1, unit.toMillis(period) / TICK);
+        long index = registrations.merge(periodTicks, 1L, Long::sum) - 1;
+        long phase = (long) ((index * GOLDEN_RATIO) % 1.0 * periodTicks);
+
+        Task task = new Task(runnable, executor, periodTicks);
+        place(task, phase + 1);
+        size++;
+        if (ticker == null) {
+            ticker = ThreadPoolManager.getScheduledPool(POOL_NAME).scheduleAtFixedRate(this::advance, TICK, TICK,
+                    TimeUnit.MILLISECONDS);
+        }
+        return task;
+    }
+
+    private synchronized void cancel(Task task) {
+        if (task.cancelled) {
+            return;
+        }
+        task.cancelled = true;
+        slots.get(task.slot).remove(task);
+        if (--size == 0) {
+            ScheduledFuture<?> future = ticker;
+            if (future != null) {
+                future.cancel(false);
+            }
+            ticker = null;
+        }
+    }
+
+    /**
+     * Places a task the given number of ticks ahead
+     *
+     * @param task
+     * @param delay delay in ticks, at least 1
+     */
+    private void place(Task task, long delay) {
+        long deadline = tick + delay;
+        task.slot = (int) (deadline % WHEEL_SIZE);
+        task.rounds = (delay - 1) / WHEEL_SIZE;
+        slots.get(task.slot).add(task);
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the due tasks
+     */
+    private void advance() {
+        List<Task> due = new ArrayList<>();
+        synchronized (this) {
+            tick++;
+            Iterator<Task> it = slots.get((int) (tick % WHEEL_SIZE)).iterator();
+            while (it.hasNext()) {
+                Task task = it.next();
+                if (task.rounds > 0) {
+                    task.rounds--;
+                } else {
+                    it.remove();
+                    due.add(task);
+                }
+            }
+            for (Task task : due) {
+                place(task, task.period);
+            }
+        }
+        for (Task task : due) {
+            try {
+                task.executor.execute(task.runnable);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Poll task rejected, executor shut down");
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PollWheel [tasks=" + size + ", tick=" + tick + "]";
+    }
+}
@@ -0,0 +1,451 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.util.FormContentProvider;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.util.Fields;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponse;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * The {@link SynoApiBatcher} gathers Web API calls issued within a short window and sends them as one
+ * SYNO.Entry.Request compound request. The compound response is read while it arrives, each result is passed to
+ * the response factory of its call, so there is neither an intermediate string nor a size limit.
+ *
+ * A call sent alone, e.g. the only call within the window, is handed back to its caller and sent on the usual
+ * streaming path. If the station doesn't support compound requests, batching is disabled and the calls are sent one
+ * by one.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiBatcher {
+    private final Logger logger = LoggerFactory.getLogger(SynoApiBatcher.class);
+
+    private static final String API_COMPOUND = "SYNO.Entry.Request";
+    private static final String API_COMPOUND_VERSION = "1";
+    private static final String METHOD_COMPOUND = "request";
+    private static final String LATENCY_KEY = API_COMPOUND + "." + METHOD_COMPOUND;
+    private static final int MAX_BATCH_SIZE = 32;
+
+    private final SynoApiDispatcher dispatcher;
+    private final List<BatchCall<?>> pending = new ArrayList<>();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedCalls = new AtomicLong();
+
+    private int batchWindow;
+    private boolean flushScheduled = false;
+    private volatile boolean supported = true;
+
+    /**
+     * A call waiting for the next compound request
+     */
+    private static class BatchCall<T extends SynoApiResponse> {
+        private final Request request;
+        private final String sessionId;
+        private final JsonObject compound;
+        private final SynoApiPriority priority;
+        private final SynoApiResponseFactory<T> reader;
+        private final Supplier<CompletableFuture<T>> single;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private @Nullable T result;
+
+        private BatchCall(Request request, String sessionId, JsonObject compound, SynoApiPriority priority,
+                SynoApiResponseFactory<T> reader, Supplier<CompletableFuture<T>> single) {
+            this.request = request;
+            this.sessionId = sessionId;
+            this.compound = compound;
+            this.priority = priority;
+            this.reader = reader;
+            this.single = single;
+        }
+
+        /**
+         * Reads the result of this call within the compound response, the call is completed by {@link #finish()}
+         *
+         * @param reader reader positioned at the result
+         * @throws IOException
+         */
+        private void read(JsonReader reader) throws IOException {
+            result = this.reader.create(reader);
+        }
+
+        /**
+         * Completes the call with the result read from the compound response
+         *
+         * @return false if there was no result
+         */
+        private boolean finish() {
+            T response = result;
+            if (response == null) {
+                return false;
+            }
+            future.complete(response);
+            return true;
+        }
+
+        /**
+         * Completes the call with a JSON response, e.g. the error of the compound request
+         *
+         * @param json
+         */
+        private void complete(String json) {
+            try (JsonReader jsonReader = new JsonReader(new StringReader(json))) {
+                future.complete(reader.create(jsonReader));
+            } catch (IOException e) {
+                future.completeExceptionally(new WebApiException(e));
+            }
+        }
+
+        private void fail(Throwable failure) {
+            future.completeExceptionally(failure);
+        }
+
+        /**
+         * Sends the call alone on the path of its caller
+         */
+        private void sendSingle() {
+            CompletableFuture<T> result;
+            try {
+                result = single.get();
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            result.whenComplete((response, failure) -> {
+                if (failure != null) {
+                    fail(failure);
+                } else {
+                    future.complete(response);
+                }
+            });
+        }
+
+        /**
+         * @return key of the target script and session, only calls with the same key are sent together
+         */
+        private String getKey() {
+            return request.getScheme() + "://" + request.getHost() + ":" + request.getPort() + request.getPath() + "#"
+                    + sessionId;
+        }
+    }
+
+    /**
+     * @param config
+     * @param dispatcher
+     */
+    public SynoApiBatcher(SynoConfig config, SynoApiDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        this.batchWindow = config.getBatchWindow();
+    }
+
+    /**
+     * Applies the station configuration
+     *
+     * @param config
+     */
+    public synchronized void setConfig(SynoConfig config) {
+        batchWindow = config.getBatchWindow();
+    }
+
+    /**
+     * @return true if calls should be submitted to this batcher
+     */
+    public synchronized boolean isEnabled() {
+        return supported && batchWindow > 0;
+    }
+
+    /**
+     * Queues a call for the next compound request.
+     *
+     * @param request the single request, used to group calls by script and session
+     * @param sessionId session of the request
+     * @param compound the call as compound entry (api, method, version and parameters)
+     * @param priority dispatch priority, a compound request gets the highest priority of its calls
+     * @param reader creates the response of this call from its result within the compound response
+     * @param single sends the call alone, used if no other call is sent with it
+     * @return future completed with the response of this call
+     */
+    public <T extends SynoApiResponse> CompletableFuture<T> submit(Request request, String sessionId,
+            JsonObject compound, SynoApiPriority priority, SynoApiResponseFactory<T> reader,
+            Supplier<CompletableFuture<T>> single) {
+        BatchCall<T> call = new BatchCall<>(request, sessionId, compound, priority, reader, single);
+        boolean flushNow = false;
+        boolean schedule = false;
+        synchronized (this) {
+            pending.add(call);
+            if (pending.size() >= MAX_BATCH_SIZE) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (flushNow) {
+            flush();
+        } else if (schedule) {
+            dispatcher.getHttpClient().getScheduler().schedule(this::flush, batchWindow, TimeUnit.MILLISECONDS);
+        }
+        return call.future;
+    }
+
+    /**
+     * Sends all pending calls
+     */
+    private void flush() {
+        List<BatchCall<?>> calls;
+        synchronized (this) {
+            calls = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+
+        Map<String, List<BatchCall<?>>> groups = new LinkedHashMap<>();
+        for (BatchCall<?> call : calls) {
+            groups.computeIfAbsent(call.getKey(), k -> new ArrayList<>()).add(call);
+        }
+        for (List<BatchCall<?>> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += MAX_BATCH_SIZE) {
+                sendBatch(group.subList(i, Math.min(i + MAX_BATCH_SIZE, group.size())));
+            }
+        }
+    }
+
+    /**
+     * Sends the calls as one compound request
+     *
+     * @param calls calls sharing script and session
+     */
+    private void sendBatch(List<BatchCall<?>> calls) {
+        if (calls.size() == 1 || !supported) {
+            calls.forEach(BatchCall::sendSingle);
+            return;
+        }
+
+        BatchCall<?> first = calls.get(0);
+        JsonArray compound = new JsonArray();
+        SynoApiPriority priority = SynoApiPriority.BULK;
+        for (BatchCall<?> call : calls) {
+            compound.add(call.compound);
+            if (call.priority.compareTo(priority) < 0) {
+                priority = call.priority;
+            }
+        }
+
+        Fields fields = new Fields();
+        fields.put("api", API_COMPOUND);
+        fields.put("version", API_COMPOUND_VERSION);
+        fields.put("method", METHOD_COMPOUND);
+        fields.put("stop_when_error", Boolean.FALSE.toString());
+        fields.put("mode", "parallel");
+        fields.put("compound", compound.toString());
+        fields.put("_sid", first.sessionId);
+
+        Request request = dispatcher.getHttpClient().newRequest(first.request.getHost(), first.request.getPort())
+                .scheme(first.request.getScheme()).path(first.request.getPath()).method(HttpMethod.POST)
+                .content(new FormContentProvider(fields));
+
+        batches.incrementAndGet();
+        batchedCalls.addAndGet(calls.size());
+        logger.debug("Sending compound request with {} calls", calls.size());
+
+        dispatcher.sendStreamingAsync(request, priority, LATENCY_KEY,
+                (content, charset) -> readBatch(calls, content, charset)).whenComplete((envelope, failure) -> {
+                    if (failure != null) {
+                        calls.forEach(call -> call.fail(failure));
+                    } else {
+                        completeBatch(calls, envelope);
+                    }
+                });
+    }
+
+    /**
+     * Envelope of a compound response
+     */
+    private static class CompoundEnvelope {
+        private boolean success = false;
+        private int errorcode = 0;
+    }
+
+    /**
+     * Reads the compound response while it arrives, each result is read by its call
+     *
+     * @param calls
+     * @param content
+     * @param charset
+     * @return envelope of the compound response
+     * @throws IOException
+     */
+    private CompoundEnvelope readBatch(List<BatchCall<?>> calls, InputStream content, Charset charset)
+            throws IOException {
+        long start = System.nanoTime();
+        CompoundEnvelope envelope = new CompoundEnvelope();
+        // not closed, the dispatcher consumes the rest of the content
+        JsonReader reader = new JsonReader(new InputStreamReader(content, charset));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if ("success".equals(name)) {
+                envelope.success = reader.nextBoolean();
+            } else if ("error".equals(name)) {
+                envelope.errorcode = readErrorcode(reader);
+            } else if ("data".equals(name)) {
+                readResults(calls, reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        dispatcher.getParseStatistics().parsed(System.nanoTime() - start, false);
+        return envelope;
+    }
+
+    /**
+     * Reads the data of the compound response, the n-th result belongs to the n-th call
+     *
+     * @param calls
+     * @param reader
+     * @throws IOException
+     */
+    private void readResults(List<BatchCall<?>> calls, JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("result".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                for (int i = 0; reader.hasNext(); i++) {
+                    if (i < calls.size()) {
+                        calls.get(i).read(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static int readErrorcode(JsonReader reader) throws IOException {
+        int code = 0;
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return code;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("code".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                code = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return code;
+    }
+
+    /**
+     * Completes the calls with their results
+     *
+     * @param calls
+     * @param envelope envelope of the compound response
+     */
+    private void completeBatch(List<BatchCall<?>> calls, CompoundEnvelope envelope) {
+        if (!envelope.success) {
+            failBatch(calls, envelope.errorcode,
+                    "{\"success\":false,\"error\":{\"code\":" + envelope.errorcode + "}}");
+            return;
+        }
+        for (BatchCall<?> call : calls) {
+            if (!call.finish()) {
+                call.fail(new WebApiException("Compound result missing"));
+            }
+        }
+    }
+
+    /**
+     * Handles a failed compound request
+     *
+     * @param calls
+     * @param code error code
+     * @param result error result passed to every call
+     */
+    private void failBatch(List<BatchCall<?>> calls, int code, String result) {
+        if (code >= 102 && code <= 104) {
+            // API, method or version not supported by this station
+            logger.info("Compound requests not supported (error {}), sending calls one by one", code);
+            supported = false;
+            calls.forEach(BatchCall::sendSingle);
+        } else {
+            // e.g. invalid session, every call gets the same error
+            calls.forEach(call -> call.complete(result));
+        }
+    }
+
+
+    /**
+     * @return number of compound requests sent
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return number of calls sent within compound requests
+     */
+    public long getBatchedCalls() {
+        return batchedCalls.get();
+    }
+
+    /**
+     * @return number of calls waiting for the next compound request
+     */
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Batcher [supported=" + supported + ", batchWindow=" + batchWindow + ", batches=" + batches.get()
+                + ", batchedCalls=" + batchedCalls.get() + "]";
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SynoApiCircuitBreaker} stops sending requests to a station which doesn't answer. It opens after
+ * repeated transport failures, while open requests fail immediately. After a jittered exponential backoff a single
+ * probe request is let through, its response closes the circuit for all pollers at once. A probe which never
+ * reports back, e.g. dropped before it was sent, is replaced by a new one.
+ *
+ * Timeouts are a weaker signal than refused or broken connections, a busy station rather slows down, so more of
+ * them are needed to open the circuit. Any HTTP response counts as success, auth errors are handled by the session.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiCircuitBreaker {
+    private final Logger logger = LoggerFactory.getLogger(SynoApiCircuitBreaker.class);
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final int TIMEOUT_THRESHOLD = 6;
+    private static final long MIN_BACKOFF = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF = TimeUnit.SECONDS.toNanos(60);
+    // a probe without outcome after this time counts as failed
+    private static final long PROBE_DEADLINE = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * State of the circuit
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Outcome of an admission
+     */
+    public enum Permit {
+        /** the request is rejected */
+        REJECTED,
+        /** the request may be sent */
+        GRANTED,
+        /** the request may be sent as probe, its outcome has to be reported */
+        PROBE
+    }
+
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private int timeouts = 0;
+    private long backoff = MIN_BACKOFF;
+    private long openUntil = 0;
+    private long probeDeadline = 0;
+    private long opened = 0;
+    private long rejected = 0;
+
+    /**
+     * Admits a request. When the backoff has elapsed, the admitted request is the probe.
+     *
+     * @return permit of the request
+     */
+    public synchronized Permit acquire() {
+        long now = System.nanoTime();
+        if (state == State.HALF_OPEN && now - probeDeadline >= 0) {
+            logger.debug("Probe without response, backing off");
+            backoff = Math.min(MAX_BACKOFF, backoff * 2);
+            open();
+        }
+        switch (state) {
+            case CLOSED:
+                return Permit.GRANTED;
+            case OPEN:
+                if (now - openUntil >= 0) {
+                    state = State.HALF_OPEN;
+                    probeDeadline = now + PROBE_DEADLINE;
+                    logger.debug("Probing station after {} s", TimeUnit.NANOSECONDS.toSeconds(backoff));
+                    return Permit.PROBE;
+                }
+                break;
+            default:
+                break;
+        }
+        rejected++;
+        return Permit.REJECTED;
+    }
+
+    /**
+     * @return true if requests are rejected until the backoff has elapsed, e.g. to skip a polling tick. While
+     *         probing the circuit counts as closed, so a poller can send the probe or find it overdue.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openUntil < 0;
+    }
+
+    /**
+     * @return state of the circuit
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Records a response of the station
+     */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("Station answers again, resuming requests");
+        }
+        state = State.CLOSED;
+        failures = 0;
+        timeouts = 0;
+        backoff = MIN_BACKOFF;
+    }
+
+    /**
+     * Records a probe which was never sent or whose caller went away, the next request is the new probe
+     */
+    public synchronized void onProbeLost() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    /**
+     * Records a failed request
+     *
+     * @param failure
+     */
+    public synchronized void onFailure(@Nullable Throwable failure) {
+        if (failure instanceof CancellationException) {
+            // aborted by the binding, says nothing about the station
+            if (state == State.HALF_OPEN) {
+                state = State.OPEN;
+            }
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            backoff = Math.min(MAX_BACKOFF, backoff * 2);
+            open();
+        } else if (state == State.CLOSED) {
+            if (failure instanceof TimeoutException || failure instanceof SocketTimeoutException) {
+                timeouts++;
+            } else {
+                failures++;
+            }
+            if (failures >= FAILURE_THRESHOLD || timeouts >= TIMEOUT_THRESHOLD) {
+                open();
+            }
+        }
+    }
+
+    private void open() {
+        // equal jitter: half of the backoff plus a random share of the other half
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        openUntil = System.nanoTime() + delay;
+        if (state == State.CLOSED) {
+            opened++;
+            logger.warn("Station unreachable, pausing requests for {} ms", TimeUnit.NANOSECONDS.toMillis(delay));
+        } else {
+            logger.debug("Station still unreachable, next probe in {} ms", TimeUnit.NANOSECONDS.toMillis(delay));
+        }
+        state = State.OPEN;
+        failures = 0;
+        timeouts = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Circuit [state=" + state + ", opened=" + opened + ", rejected=" + rejected + "]";
+    }
+}
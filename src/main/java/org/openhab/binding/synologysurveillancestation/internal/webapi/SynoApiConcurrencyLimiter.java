@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+
+/**
+ * The {@link SynoApiConcurrencyLimiter} adapts the number of requests in flight to the station (AIMD). The limit
+ * grows additively while latency stays near its baseline and is cut multiplicatively on timeouts, overload
+ * responses or latency spikes. The configured maximum is the ceiling.
+ *
+ * The baseline is kept per API method as the minimum latency of the last one to two windows, so fast and slow
+ * methods don't count as spikes of each other and a station getting slower for good raises its baseline.
+ *
+ * Not thread-safe, the dispatcher calls it under its own lock.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiConcurrencyLimiter {
+
+    private static final double MIN_LIMIT = 1;
+    private static final double DECREASE_FACTOR = 0.7;
+    // latency above baseline times tolerance counts as spike
+    private static final double TOLERANCE = 2.0;
+    // length of a baseline window
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(30);
+    private static final String DEFAULT_KEY = "";
+
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private boolean adaptive;
+    private double maxLimit;
+    private double limit;
+    private long lastDecrease = 0;
+    private long increases = 0;
+    private long decreases = 0;
+
+    /**
+     * Minimum latency of an API method within the current and the previous window
+     */
+    private static class Baseline {
+        private long current = Long.MAX_VALUE;
+        private long previous = Long.MAX_VALUE;
+        private long windowStart;
+
+        private Baseline(long now) {
+            windowStart = now;
+        }
+
+        /**
+         * Starts a new window once the current one is over, a window without samples drops the old minimum
+         *
+         * @param now
+         */
+        private void rotate(long now) {
+            if (now - windowStart >= WINDOW) {
+                previous = now - windowStart < 2 * WINDOW ? current : Long.MAX_VALUE;
+                current = Long.MAX_VALUE;
+                windowStart = now;
+            }
+        }
+
+        private void add(long latency) {
+            current = Math.min(current, latency);
+        }
+
+        /**
+         * @return baseline latency or 0 if there is no sample
+         */
+        private long get() {
+            long min = Math.min(current, previous);
+            return min == Long.MAX_VALUE ? 0 : min;
+        }
+    }
+
+    /**
+     * @param config
+     */
+    public SynoApiConcurrencyLimiter(SynoConfig config) {
+        setConfig(config);
+    }
+
+    /**
+     * Applies the station configuration, the limit restarts at half of the maximum
+     *
+     * @param config
+     */
+    public void setConfig(SynoConfig config) {
+        adaptive = config.isAdaptiveLimit();
+        maxLimit = Math.max(MIN_LIMIT, config.getMaxRequests());
+        limit = adaptive ? Math.max(MIN_LIMIT, Math.ceil(maxLimit / 2)) : maxLimit;
+    }
+
+    /**
+     * @return current number of requests allowed in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Records a successful request.
+     *
+     * @param key API and method, null if not tracked
+     * @param latency latency in nanoseconds
+     */
+    public void onSuccess(@Nullable String key, long latency) {
+        if (!adaptive) {
+            return;
+        }
+        long now = System.nanoTime();
+        Baseline baseline = baselines.computeIfAbsent(key == null ? DEFAULT_KEY : key, k -> new Baseline(now));
+        baseline.rotate(now);
+        long min = baseline.get();
+        // every sample takes part in the baseline, also the spikes
+        baseline.add(latency);
+        if (min > 0 && latency > min * TOLERANCE) {
+            decrease(now, min);
+        } else {
+            if (limit < maxLimit) {
+                // about one more slot per round trip of the whole window
+                limit = Math.min(maxLimit, limit + 1 / limit);
+                increases++;
+            }
+        }
+    }
+
+    /**
+     * Records a timeout or overload response.
+     *
+     * @param key API and method, null if not tracked
+     */
+    public void onOverload(@Nullable String key) {
+        if (adaptive) {
+            Baseline baseline = baselines.get(key == null ? DEFAULT_KEY : key);
+            decrease(System.nanoTime(), baseline == null ? 0 : baseline.get());
+        }
+    }
+
+    /**
+     * Cuts the limit at most once per baseline round trip, requests in flight report the same congestion
+     *
+     * @param now
+     * @param interval baseline latency of the method
+     */
+    private void decrease(long now, long interval) {
+        if (now - lastDecrease > interval) {
+            limit = Math.max(MIN_LIMIT, limit * DECREASE_FACTOR);
+            lastDecrease = now;
+            decreases++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Limiter [adaptive=" + adaptive + ", limit=" + String.format("%.1f", limit) + ", baselines="
+                + baselines.size() + ", increases=" + increases + ", decreases=" + decreases + "]";
+    }
+}
@@ -0,0 +1,701 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpContentResponse;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.util.thread.Scheduler;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiCircuitBreaker.Permit;
+
+/**
+ * The {@link SynoApiDispatcher} sends the Web API requests of one station and limits the number of requests
+ * in flight. It is shared by all API instances of a {@link SynoWebApiHandler}.
+ *
+ * The limit adapts to the station's latency within the configured maximum, see
+ * {@link SynoApiConcurrencyLimiter}. Requests leave the queue only with a token of the {@link SynoApiRateLimiter},
+ * so the configured call rate isn't exceeded.
+ *
+ * Requests go to the fastest healthy endpoint of the station, see {@link SynoApiEndpointSelector}. While the
+ * station doesn't answer, the {@link SynoApiCircuitBreaker} rejects requests immediately.
+ *
+ * Requests without own timeout get one derived from the recent latency of their API method, see
+ * {@link SynoApiLatencyTracker}.
+ *
+ * Requests are queued per {@link SynoApiPriority}, interactive commands go ahead of queued background work and may
+ * use one reserved slot above the limit.
+ *
+ * Requests are sent with Jetty's listener-based API, so no thread is blocked while a request is queued or in
+ * flight. JSON responses may be streamed, their content is parsed while it arrives instead of being buffered.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiDispatcher {
+
+    private volatile HttpClient httpClient;
+    private final SynoApiBatcher batcher;
+    private final SynoApiConcurrencyLimiter limiter;
+    private final SynoApiRateLimiter rateLimiter;
+    private final SynoApiLatencyTracker latencyTracker;
+    private final SynoApiCircuitBreaker circuitBreaker = new SynoApiCircuitBreaker();
+    private final SynoApiRetryPolicy retryPolicy;
+    private final SynoApiEndpointSelector endpoints;
+    private final SynoApiParseStatistics parseStatistics = new SynoApiParseStatistics();
+    private final Map<SynoApiPriority, PriorityQueueStats> queues = new EnumMap<>(SynoApiPriority.class);
+
+    private int inFlight = 0;
+    private boolean wakeupScheduled = false;
+
+    /**
+     * A queued request and the future to complete with its result
+     */
+    private abstract static class PendingRequest {
+        private final Request request;
+        private final SynoApiPriority priority;
+        private final @Nullable String latencyKey;
+        private final long queued = System.nanoTime();
+        private long sent;
+        private boolean throttled = false;
+        private boolean probe = false;
+
+        private PendingRequest(Request request, SynoApiPriority priority, @Nullable String latencyKey) {
+            this.request = request;
+            this.priority = priority;
+            this.latencyKey = latencyKey;
+        }
+
+        /**
+         * @return true if the caller's future is completed, e.g. cancelled
+         */
+        abstract boolean isDone();
+
+        /**
+         * Completes the caller's future with a failure
+         *
+         * @param failure
+         */
+        abstract void fail(Throwable failure);
+    }
+
+    /**
+     * A request whose response is buffered completely
+     */
+    private static class BufferedRequest extends PendingRequest {
+        private final CompletableFuture<ContentResponse> future;
+
+        private BufferedRequest(Request request, SynoApiPriority priority, @Nullable String latencyKey,
+                CompletableFuture<ContentResponse> future) {
+            super(request, priority, latencyKey);
+            this.future = future;
+        }
+
+        @Override
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        void fail(Throwable failure) {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * A request whose response is read while it arrives
+     */
+    private static class StreamingRequest<R> extends PendingRequest {
+        private final CompletableFuture<R> future;
+        private final SynoApiStreamReader<R> reader;
+
+        private StreamingRequest(Request request, SynoApiPriority priority, @Nullable String latencyKey,
+                CompletableFuture<R> future, SynoApiStreamReader<R> reader) {
+            super(request, priority, latencyKey);
+            this.future = future;
+            this.reader = reader;
+        }
+
+        @Override
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        void fail(Throwable failure) {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Queue and wait statistics of one priority
+     */
+    private static class PriorityQueueStats {
+        private final Queue<PendingRequest> queue = new ArrayDeque<>();
+        private long sent = 0;
+        private long totalWait = 0;
+        private long maxWait = 0;
+
+        private void sent(PendingRequest pending) {
+            pending.sent = System.nanoTime();
+            long wait = pending.sent - pending.queued;
+            sent++;
+            totalWait += wait;
+            maxWait = Math.max(maxWait, wait);
+        }
+
+        @Override
+        public String toString() {
+            return "[queued=" + queue.size() + ", sent=" + sent + ", avgWait="
+                    + (sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWait / sent)) + " ms, maxWait="
+                    + TimeUnit.NANOSECONDS.toMillis(maxWait) + " ms]";
+        }
+    }
+
+    /**
+     * @param config
+     * @param httpClient
+     */
+    public SynoApiDispatcher(SynoConfig config, HttpClient httpClient) {
+        this.httpClient = httpClient;
+        this.limiter = new SynoApiConcurrencyLimiter(config);
+        this.rateLimiter = new SynoApiRateLimiter(config);
+        this.latencyTracker = new SynoApiLatencyTracker(config);
+        this.retryPolicy = new SynoApiRetryPolicy(config);
+        this.endpoints = new SynoApiEndpointSelector(config, this);
+        this.batcher = new SynoApiBatcher(config, this);
+        for (SynoApiPriority priority : SynoApiPriority.values()) {
+            queues.put(priority, new PriorityQueueStats());
+        }
+    }
+
+    /**
+     * @return HTTP client used for this station
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Replaces the HTTP client, e.g. after a transport change. Requests in flight complete on the previous client.
+     *
+     * @param httpClient
+     */
+    public void setHttpClient(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * @return batcher for compound requests of this station
+     */
+    public SynoApiBatcher getBatcher() {
+        return batcher;
+    }
+
+    /**
+     * Applies the station configuration, the new limit is effective for queued requests immediately
+     *
+     * @param config
+     */
+    public void setConfig(SynoConfig config) {
+        synchronized (this) {
+            limiter.setConfig(config);
+        }
+        rateLimiter.setConfig(config);
+        latencyTracker.setConfig(config);
+        retryPolicy.setConfig(config);
+        endpoints.setConfig(config);
+        batcher.setConfig(config);
+        dispatch();
+    }
+
+    /**
+     * Queues the request with polling priority.
+     *
+     * @param request
+     * @return future completed with the buffered response
+     */
+    public CompletableFuture<ContentResponse> sendAsync(Request request) {
+        return sendAsync(request, SynoApiPriority.POLLING);
+    }
+
+    /**
+     * Queues the request, it is sent as soon as the number of requests in flight allows it.
+     *
+     * @param request
+     * @param priority
+     * @return future completed with the buffered response
+     */
+    public CompletableFuture<ContentResponse> sendAsync(Request request, SynoApiPriority priority) {
+        return sendAsync(request, priority, null);
+    }
+
+    /**
+     * Queues the request, it is sent as soon as the number of requests in flight allows it. The latency is recorded
+     * for the API method and a request without timeout gets the timeout derived from it.
+     *
+     * @param request
+     * @param priority
+     * @param latencyKey API and method, null if not tracked
+     * @return future completed with the buffered response
+     */
+    public CompletableFuture<ContentResponse> sendAsync(Request request, SynoApiPriority priority,
+            @Nullable String latencyKey) {
+        CompletableFuture<ContentResponse> future = new CompletableFuture<>();
+        enqueue(new BufferedRequest(request, priority, latencyKey, future));
+        return future;
+    }
+
+    /**
+     * Queues the request like {@link #sendAsync(Request, SynoApiPriority, String)}, the response content isn't
+     * buffered but passed to the reader while it arrives. The reader runs on the executor of the HTTP client, so
+     * there is neither a copy of the content nor a limit of its size.
+     *
+     * Responses with another status than 200 fail with {@link WebApiHttpException}.
+     *
+     * @param request
+     * @param priority
+     * @param latencyKey API and method, null if not tracked
+     * @param reader reads the result from the response content
+     * @return future completed with the result of the reader
+     */
+    public <R> CompletableFuture<R> sendStreamingAsync(Request request, SynoApiPriority priority,
+            @Nullable String latencyKey, SynoApiStreamReader<R> reader) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        enqueue(new StreamingRequest<>(request, priority, latencyKey, future, reader));
+        return future;
+    }
+
+    private void enqueue(PendingRequest pending) {
+        Permit permit = circuitBreaker.acquire();
+        if (permit == Permit.REJECTED) {
+            pending.fail(new WebApiCircuitOpenException());
+            return;
+        }
+        pending.probe = permit == Permit.PROBE;
+        endpoints.probeIfDue();
+        if (pending.request.getTimeout() <= 0) {
+            pending.request.timeout(latencyTracker.getTimeout(pending.latencyKey), TimeUnit.MILLISECONDS);
+        }
+        synchronized (this) {
+            queues.get(pending.priority).queue.add(pending);
+        }
+        dispatch();
+    }
+
+    /**
+     * Sends the request and waits for its response.
+     *
+     * @param request
+     * @return
+     * @throws InterruptedException
+     * @throws ExecutionException
+     * @throws TimeoutException
+     */
+    public ContentResponse send(Request request) throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture<ContentResponse> future = sendAsync(request);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw (TimeoutException) e.getCause();
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            request.abort(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of requests currently in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return number of requests currently allowed in flight
+     */
+    public synchronized int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * @return rate limiter of this station
+     */
+    public SynoApiRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return circuit breaker of this station
+     */
+    public SynoApiCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Opens connections to the station ahead of the first polls. The requests are sent at once, so each one needs
+     * its own connection, which stays in the pool afterwards.
+     *
+     * @param connections number of connections to open
+     * @param timeout time in milliseconds after which the future completes with the connections warm so far
+     * @return future completed with the number of connections which answered
+     */
+    public CompletableFuture<Integer> prewarmAsync(int connections, long timeout) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(connections);
+        AtomicInteger warm = new AtomicInteger();
+        Scheduler.Task deadline = httpClient.getScheduler().schedule(() -> future.complete(warm.get()), timeout,
+                TimeUnit.MILLISECONDS);
+        future.whenComplete((result, failure) -> deadline.cancel());
+        for (int i = 0; i < connections; i++) {
+            try {
+                endpoints.newProbeRequest().send(new BufferingResponseListener() {
+                    @Override
+                    public void onComplete(@Nullable Result result) {
+                        if (result != null && !result.isFailed() && result.getResponse().getStatus() == 200) {
+                            warm.incrementAndGet();
+                        }
+                        if (pending.decrementAndGet() == 0) {
+                            future.complete(warm.get());
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (pending.decrementAndGet() == 0) {
+                    future.complete(warm.get());
+                }
+            }
+        }
+        if (connections <= 0) {
+            future.complete(0);
+        }
+        return future;
+    }
+
+    /**
+     * @return endpoint selector of this station
+     */
+    public SynoApiEndpointSelector getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @return parse statistics of the responses of this station
+     */
+    public SynoApiParseStatistics getParseStatistics() {
+        return parseStatistics;
+    }
+
+    /**
+     * @return retry policy of this station
+     */
+    public SynoApiRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return latency tracker of this station
+     */
+    public SynoApiLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * @return number of requests waiting to be sent
+     */
+    public synchronized int getQueued() {
+        int queued = 0;
+        for (PriorityQueueStats stats : queues.values()) {
+            queued += stats.queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * @param priority
+     * @return number of requests of the priority waiting to be sent
+     */
+    public synchronized int getQueued(SynoApiPriority priority) {
+        return queues.get(priority).queue.size();
+    }
+
+    /**
+     * Sends queued requests while the limit allows it
+     */
+    private void dispatch() {
+        PendingRequest next;
+        while ((next = poll()) != null) {
+            send(next);
+        }
+    }
+
+    private synchronized @Nullable PendingRequest poll() {
+        int allowed = limiter.getLimit();
+        for (SynoApiPriority priority : SynoApiPriority.values()) {
+            // one slot above the limit is reserved for interactive commands
+            int limit = priority == SynoApiPriority.INTERACTIVE ? allowed + 1 : allowed;
+            PriorityQueueStats stats = queues.get(priority);
+            while (inFlight < limit && !stats.queue.isEmpty()) {
+                PendingRequest next = stats.queue.peek();
+                if (next == null || next.isDone()) {
+                    stats.queue.poll();
+                    if (next != null && next.probe) {
+                        circuitBreaker.onProbeLost();
+                    }
+                } else if (rateLimiter.tryAcquire()) {
+                    stats.queue.poll();
+                    stats.sent(next);
+                    inFlight++;
+                    return next;
+                } else {
+                    if (!next.throttled) {
+                        next.throttled = true;
+                        rateLimiter.throttled();
+                    }
+                    scheduleWakeup();
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resumes dispatching when the next token of the rate limiter is available
+     */
+    private synchronized void scheduleWakeup() {
+        if (!wakeupScheduled) {
+            wakeupScheduled = true;
+            httpClient.getScheduler().schedule(() -> {
+                synchronized (this) {
+                    wakeupScheduled = false;
+                }
+                dispatch();
+            }, rateLimiter.getWaitTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Releases the slot of a request which couldn't be sent
+     *
+     * @param pending
+     */
+    private synchronized void release(PendingRequest pending) {
+        inFlight--;
+        if (pending.probe) {
+            circuitBreaker.onProbeLost();
+        }
+    }
+
+    /**
+     * Releases the slot of a completed request and reports its outcome to the limiter
+     *
+     * @param pending
+     * @param result
+     */
+    private synchronized void release(PendingRequest pending, @Nullable Result result) {
+        inFlight--;
+        if (result != null) {
+            if (result.isFailed()) {
+                circuitBreaker.onFailure(result.getFailure());
+                if (SynoApiRetryPolicy.isConnectionFailure(result.getFailure())) {
+                    endpoints.onFailure(pending.request.getHost(), pending.request.getPort());
+                }
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        }
+        String latencyKey = pending.latencyKey;
+        if (latencyKey != null && result != null) {
+            if (!result.isFailed()) {
+                latencyTracker.record(latencyKey, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.sent));
+            } else if (result.getFailure() instanceof TimeoutException) {
+                // a timeout is a lower bound of the latency, so slower stations raise their timeout over time
+                latencyTracker.record(latencyKey, pending.request.getTimeout());
+            }
+        }
+        // snapshots and bulk lists depend on the cameras rather than the station load
+        if (result == null || pending.priority == SynoApiPriority.BULK) {
+            return;
+        }
+        if (isOverload(result)) {
+            limiter.onOverload(latencyKey);
+        } else if (!result.isFailed()) {
+            limiter.onSuccess(latencyKey, System.nanoTime() - pending.sent);
+        }
+    }
+
+    private static boolean isOverload(Result result) {
+        Throwable failure = result.getFailure();
+        if (failure != null) {
+            return failure instanceof TimeoutException || failure instanceof SocketTimeoutException;
+        }
+        int status = result.getResponse().getStatus();
+        return status == HttpStatus.SERVICE_UNAVAILABLE_503 || status == HttpStatus.TOO_MANY_REQUESTS_429;
+    }
+
+    private void send(PendingRequest pending) {
+        if (pending instanceof StreamingRequest) {
+            sendStreaming(pending.request, (StreamingRequest<?>) pending);
+        } else {
+            sendBuffered(pending.request, (BufferedRequest) pending);
+        }
+    }
+
+    private void sendBuffered(Request request, BufferedRequest pending) {
+        try {
+            request.send(new BufferingResponseListener() {
+                @Override
+                public void onComplete(@Nullable Result result) {
+                    release(pending, result);
+                    if (result == null) {
+                        pending.future.completeExceptionally(new WebApiException("Empty result"));
+                    } else if (result.isFailed()) {
+                        pending.future.completeExceptionally(result.getFailure());
+                    } else {
+                        pending.future.complete(new HttpContentResponse(result.getResponse(), getContent(),
+                                getMediaType(), getEncoding()));
+                    }
+                    dispatch();
+                }
+            });
+        } catch (RuntimeException e) {
+            release(pending);
+            pending.future.completeExceptionally(e);
+            dispatch();
+        }
+    }
+
+    private <R> void sendStreaming(Request request, StreamingRequest<R> pending) {
+        Executor executor = httpClient.getExecutor();
+        try {
+            request.send(new InputStreamResponseListener() {
+                @Override
+                public void onHeaders(@Nullable Response response) {
+                    super.onHeaders(response);
+                    if (response == null) {
+                        return;
+                    }
+                    InputStream content = getInputStream();
+                    try {
+                        // the content arrives on the network thread, so it is read on another one
+                        executor.execute(() -> read(pending, response, content));
+                    } catch (RejectedExecutionException e) {
+                        response.abort(e);
+                    }
+                }
+
+                @Override
+                public void onComplete(@Nullable Result result) {
+                    super.onComplete(result);
+                    release(pending, result);
+                    if (result == null) {
+                        pending.future.completeExceptionally(new WebApiException("Empty result"));
+                    } else if (result.isFailed()) {
+                        pending.future.completeExceptionally(result.getFailure());
+                    }
+                    dispatch();
+                }
+            });
+        } catch (RuntimeException e) {
+            release(pending);
+            pending.future.completeExceptionally(e);
+            dispatch();
+        }
+    }
+
+    /**
+     * Reads the content of a streamed response and completes the request with the result of its reader.
+     *
+     * @param pending
+     * @param response
+     * @param content
+     */
+    private <R> void read(StreamingRequest<R> pending, Response response, InputStream content) {
+        try (InputStream in = content) {
+            if (response.getStatus() != HttpStatus.OK_200) {
+                drain(in);
+                pending.future.completeExceptionally(new WebApiHttpException(response.getStatus()));
+            } else {
+                R result = pending.reader.read(in, getCharset(response));
+                // the response only completes once the content is consumed
+                drain(in);
+                pending.future.complete(result);
+            }
+        } catch (IOException e) {
+            // a failed response is reported as IOException wrapping the failure, e.g. a timeout
+            Throwable cause = e.getCause();
+            pending.future.completeExceptionally(e.getClass() == IOException.class && cause != null ? cause : e);
+        } catch (RuntimeException e) {
+            response.abort(e);
+            pending.future.completeExceptionally(new WebApiException(e));
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (in.read(buffer) >= 0) {
+            // discard
+        }
+    }
+
+    private static Charset getCharset(Response response) {
+        String charset = MimeTypes.getCharsetFromContentType(response.getHeaders().get(HttpHeader.CONTENT_TYPE));
+        if (charset != null) {
+            try {
+                return Charset.forName(charset);
+            } catch (IllegalArgumentException e) {
+                // unknown charset, use default
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Dispatcher [inFlight=" + inFlight + ", " + limiter + ", " + rateLimiter + ", " + circuitBreaker + ", "
+                + retryPolicy + ", " + endpoints + ", " + queues + ", " + batcher + ", " + latencyTracker + ", "
+                + parseStatistics + "]";
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.util.URIUtil;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SynoApiEndpointSelector} routes the requests of one station to the fastest healthy of its endpoints,
+ * e.g. IPv4, IPv6 and a DNS name. All endpoints are probed in a race with staggered starts (happy eyeballs), the
+ * first answer is used at once and the measured round trip times pick the endpoint for the following requests.
+ *
+ * The session ID is valid on all endpoints, so a failover during the session needs no new login.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiEndpointSelector {
+    private final Logger logger = LoggerFactory.getLogger(SynoApiEndpointSelector.class);
+
+    private static final long STAGGER = 250;
+    private static final long PROBE_INTERVAL = TimeUnit.SECONDS.toNanos(60);
+    private static final long PROBE_TIMEOUT = 5000;
+    // another endpoint has to be this much faster to take over
+    private static final double SWITCH_MARGIN = 0.7;
+    private static final double RTT_ALPHA = 0.3;
+    private static final String PROBE_PATH = "/webapi/query.cgi";
+
+    private final SynoApiDispatcher dispatcher;
+    private final AtomicLong generation = new AtomicLong();
+
+    private List<Endpoint> endpoints = Collections.emptyList();
+    private @Nullable Endpoint current;
+    private String scheme = "http";
+    private long nextProbe = 0;
+    private long failovers = 0;
+
+    /**
+     * One address of the station and its measured round trip time
+     */
+    private static class Endpoint {
+        private final String host;
+        private final int port;
+        private double rtt = -1;
+        private boolean healthy = true;
+
+        private Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        private boolean matches(String host, int port) {
+            return this.host.equalsIgnoreCase(host) && this.port == port;
+        }
+
+        private String getAuthority() {
+            return (host.indexOf(':') >= 0 ? "[" + host + "]" : host) + ":" + port;
+        }
+
+        @Override
+        public String toString() {
+            return getAuthority() + "=" + (healthy ? rtt < 0 ? "?" : String.valueOf((long) rtt) + " ms" : "down");
+        }
+    }
+
+    /**
+     * @param config
+     * @param dispatcher dispatcher of the station, provides the HTTP client
+     */
+    public SynoApiEndpointSelector(SynoConfig config, SynoApiDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        setConfig(config);
+    }
+
+    /**
+     * Applies the station configuration, the configured host is the first endpoint
+     *
+     * @param config
+     */
+    public synchronized void setConfig(SynoConfig config) {
+        int port = parsePort(config.getPort(), 5000);
+        List<Endpoint> list = new ArrayList<>();
+        list.add(new Endpoint(config.getHost(), port));
+        for (String address : config.getAlternativeHosts().split(",")) {
+            Endpoint endpoint = parse(address.trim(), port);
+            if (endpoint != null && list.stream().noneMatch(e -> e.matches(endpoint.host, endpoint.port))) {
+                list.add(endpoint);
+            }
+        }
+        endpoints = list;
+        current = list.get(0);
+        scheme = config.getProtocol();
+        nextProbe = 0;
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Parses host, host:port, [IPv6] or [IPv6]:port
+     *
+     * @param address
+     * @param defaultPort
+     * @return endpoint or null if empty
+     */
+    private static @Nullable Endpoint parse(String address, int defaultPort) {
+        if (address.isEmpty()) {
+            return null;
+        }
+        if (address.startsWith("[")) {
+            int end = address.indexOf(']');
+            if (end < 0) {
+                return null;
+            }
+            String rest = address.substring(end + 1);
+            return new Endpoint(address.substring(1, end),
+                    rest.startsWith(":") ? parsePort(rest.substring(1), defaultPort) : defaultPort);
+        }
+        int colon = address.indexOf(':');
+        if (colon >= 0 && colon == address.lastIndexOf(':')) {
+            return new Endpoint(address.substring(0, colon), parsePort(address.substring(colon + 1), defaultPort));
+        }
+        // a plain IPv6 address without port
+        return new Endpoint(address, defaultPort);
+    }
+
+    private static int parsePort(String port, int defaultPort) {
+        try {
+            return Integer.parseInt(port.trim());
+        } catch (NumberFormatException e) {
+            return defaultPort;
+        }
+    }
+
+    /**
+     * @return counter increased on each change of the current endpoint, compiled URIs are stale after a change
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Builds the base URI of the current endpoint, host and port are read under the same lock
+     *
+     * @param scheme
+     * @return builder of the URI with the authority of the current endpoint
+     */
+    public synchronized StringBuilder newURIBuilder(String scheme) {
+        Endpoint endpoint = current;
+        return endpoint == null ? URIUtil.newURIBuilder(scheme, "", 0)
+                : URIUtil.newURIBuilder(scheme, endpoint.host, endpoint.port);
+    }
+
+    /**
+     * Redirects the URI of a request to the current endpoint, e.g. for a retry.
+     *
+     * @param uri
+     * @return URI with the authority of the current endpoint
+     */
+    public synchronized URI route(URI uri) {
+        Endpoint endpoint = current;
+        if (endpoint == null || endpoint.matches(String.valueOf(uri.getHost()).replaceAll("[\\[\\]]", ""),
+                uri.getPort())) {
+            return uri;
+        }
+        String query = uri.getRawQuery();
+        return URI.create(uri.getScheme() + "://" + endpoint.getAuthority() + uri.getRawPath()
+                + (query == null ? "" : "?" + query));
+    }
+
+    /**
+     * Records a transport failure of a request, the station fails over to another healthy endpoint.
+     *
+     * @param host
+     * @param port
+     */
+    public synchronized void onFailure(String host, int port) {
+        Endpoint endpoint = find(host, port);
+        if (endpoint == null || !endpoint.healthy || endpoints.size() < 2) {
+            return;
+        }
+        endpoint.healthy = false;
+        if (endpoint == current) {
+            Endpoint best = getBest();
+            if (best != null) {
+                failovers++;
+                logger.info("Endpoint {} failed, switching to {}", endpoint.getAuthority(), best.getAuthority());
+                setCurrent(best);
+            }
+        }
+        // find out quickly which endpoints still answer
+        nextProbe = 0;
+    }
+
+    private @Nullable Endpoint find(String host, int port) {
+        String plainHost = host.replaceAll("[\\[\\]]", "");
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.matches(plainHost, port)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return healthy endpoint with the lowest round trip time, endpoints without measurement last
+     */
+    private @Nullable Endpoint getBest() {
+        Endpoint best = null;
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.healthy) {
+                continue;
+            }
+            if (best == null || (endpoint.rtt >= 0 && (best.rtt < 0 || endpoint.rtt < best.rtt))) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    private void setCurrent(Endpoint endpoint) {
+        if (endpoint != current) {
+            current = endpoint;
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Starts a probe race if the last one is older than the probe interval
+     */
+    public synchronized void probeIfDue() {
+        long now = System.nanoTime();
+        if (endpoints.size() < 2 || (nextProbe != 0 && now - nextProbe < 0)) {
+            return;
+        }
+        nextProbe = now + PROBE_INTERVAL;
+        HttpClient httpClient = dispatcher.getHttpClient();
+        try {
+            for (int i = 0; i < endpoints.size(); i++) {
+                Endpoint endpoint = endpoints.get(i);
+                httpClient.getScheduler().schedule(() -> probe(httpClient, endpoint), i * STAGGER,
+                        TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Endpoint probes not scheduled, client stopped");
+        }
+    }
+
+    /**
+     * Creates a light request to the current endpoint which needs no session, e.g. to open a connection
+     *
+     * @return request
+     */
+    public synchronized Request newProbeRequest() {
+        Endpoint endpoint = current;
+        if (endpoint == null) {
+            throw new IllegalStateException("No endpoint configured");
+        }
+        return newProbeRequest(dispatcher.getHttpClient(), endpoint);
+    }
+
+    private Request newProbeRequest(HttpClient httpClient, Endpoint endpoint) {
+        return httpClient.newRequest(scheme + "://" + endpoint.getAuthority() + PROBE_PATH)
+                .param("api", "SYNO.API.Info").param("version", "1").param("method", "query")
+                .param("query", "SYNO.API.Auth").timeout(PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    private void probe(HttpClient httpClient, Endpoint endpoint) {
+        long start = System.nanoTime();
+        try {
+            newProbeRequest(httpClient, endpoint).send(new BufferingResponseListener() {
+                @Override
+                public void onComplete(@Nullable Result result) {
+                    probed(endpoint, result != null && !result.isFailed() && result.getResponse().getStatus() == 200,
+                            System.nanoTime() - start);
+                }
+            });
+        } catch (RuntimeException e) {
+            probed(endpoint, false, 0);
+        }
+    }
+
+    private synchronized void probed(Endpoint endpoint, boolean success, long rtt) {
+        if (!endpoints.contains(endpoint)) {
+            // configuration changed meanwhile
+            return;
+        }
+        if (!success) {
+            endpoint.healthy = false;
+            logger.debug("Endpoint {} doesn't answer", endpoint.getAuthority());
+            return;
+        }
+        double millis = (double) TimeUnit.NANOSECONDS.toMicros(rtt) / 1000;
+        endpoint.rtt = endpoint.rtt < 0 ? millis : endpoint.rtt + RTT_ALPHA * (millis - endpoint.rtt);
+        endpoint.healthy = true;
+
+        Endpoint active = current;
+        if (active == null || !active.healthy) {
+            // first answer wins while the current endpoint is down
+            logger.info("Switching to endpoint {}", endpoint.getAuthority());
+            setCurrent(endpoint);
+        } else if (active.rtt >= 0 && endpoint.rtt < active.rtt * SWITCH_MARGIN) {
+            logger.debug("Endpoint {} is faster, switching from {}", endpoint.getAuthority(), active.getAuthority());
+            setCurrent(endpoint);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        Endpoint endpoint = current;
+        return "Endpoints [current=" + (endpoint == null ? "" : endpoint.getAuthority()) + ", failovers=" + failovers
+                + ", " + endpoints + "]";
+    }
+}
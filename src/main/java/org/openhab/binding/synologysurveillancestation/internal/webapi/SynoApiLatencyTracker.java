@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+
+/**
+ * The {@link SynoApiLatencyTracker} keeps the latency percentiles of the recent calls per API method of one station.
+ * Request timeouts and the hedging delay of idempotent reads are derived from them.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiLatencyTracker {
+
+    private static final int WINDOW = 64;
+    private static final int MIN_SAMPLES = 10;
+    private static final long MIN_TIMEOUT = 1000;
+    // timeout as multiple of the 99th percentile
+    private static final int TIMEOUT_FACTOR = 3;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    private volatile long maxTimeout;
+    private volatile boolean hedging;
+
+    /**
+     * Ring buffer of the recent latencies of one method in milliseconds
+     */
+    private static class LatencyWindow {
+        private final long[] samples = new long[WINDOW];
+        private int count = 0;
+        private int next = 0;
+
+        private synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW;
+            count = Math.min(WINDOW, count + 1);
+        }
+
+        private synchronized long percentile(double p) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(p * count) - 1)];
+        }
+    }
+
+    /**
+     * @param config
+     */
+    public SynoApiLatencyTracker(SynoConfig config) {
+        setConfig(config);
+    }
+
+    /**
+     * Applies the station configuration
+     *
+     * @param config
+     */
+    public void setConfig(SynoConfig config) {
+        maxTimeout = Math.max(MIN_TIMEOUT, config.getRequestTimeout());
+        hedging = config.isHedging();
+    }
+
+    /**
+     * @return true if idempotent reads are hedged
+     */
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * Records the latency of a completed call
+     *
+     * @param key API and method
+     * @param millis latency in milliseconds
+     */
+    public void record(String key, long millis) {
+        windows.computeIfAbsent(key, k -> new LatencyWindow()).add(millis);
+    }
+
+    /**
+     * @param key API and method
+     * @param p percentile between 0 and 1
+     * @return latency in milliseconds or -1 if too few calls were recorded
+     */
+    public long getPercentile(String key, double p) {
+        LatencyWindow window = windows.get(key);
+        return window == null ? -1 : window.percentile(p);
+    }
+
+    /**
+     * Returns the timeout of a call, a multiple of the 99th percentile within the configured maximum
+     *
+     * @param key API and method, null for the maximum
+     * @return timeout in milliseconds
+     */
+    public long getTimeout(@Nullable String key) {
+        long p99 = key == null ? -1 : getPercentile(key, 0.99);
+        if (p99 < 0) {
+            return maxTimeout;
+        }
+        return Math.min(maxTimeout, Math.max(MIN_TIMEOUT, p99 * TIMEOUT_FACTOR));
+    }
+
+    /**
+     * Returns the delay after which an idempotent read is hedged by a second request
+     *
+     * @param key API and method
+     * @return delay in milliseconds, the 95th percentile, or -1 if not hedged
+     */
+    public long getHedgeDelay(String key) {
+        return hedging ? getPercentile(key, 0.95) : -1;
+    }
+
+    /**
+     * Counts a hedged request sent
+     */
+    public void hedgeSent() {
+        hedged.incrementAndGet();
+    }
+
+    /**
+     * Counts a hedged request which answered first
+     */
+    public void hedgeWon() {
+        hedgeWins.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Latency [hedged=").append(hedged.get()).append(", hedgeWins=")
+                .append(hedgeWins.get());
+        for (Map.Entry<String, LatencyWindow> entry : new TreeMap<>(windows).entrySet()) {
+            LatencyWindow window = entry.getValue();
+            sb.append(", ").append(entry.getKey()).append("=").append(window.percentile(0.5)).append("/")
+                    .append(window.percentile(0.95)).append("/").append(window.percentile(0.99)).append(" ms");
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SynoApiParseStatistics} counts the API responses of one station which were parsed and those which were
+ * short-circuited by the pre-scan of the raw bytes. The saved CPU time is estimated from the average parse time of
+ * small responses, which the short-circuited ones would have been.
+ *
+ * The received bytes are counted per API method and request profile, so the payload of each poll is visible.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiParseStatistics {
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong parseTime = new AtomicLong();
+    private final AtomicLong smallParsed = new AtomicLong();
+    private final AtomicLong smallParseTime = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+
+    /**
+     * Received responses of one API method and profile
+     */
+    private static class Payload {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        @Override
+        public String toString() {
+            long count = calls.get();
+            return (count == 0 ? 0 : bytes.get() / count) + " B/call";
+        }
+    }
+
+    /**
+     * Records a parsed response
+     *
+     * @param nanos parse time
+     * @param small true if the response was small enough to be pre-scanned
+     */
+    public void parsed(long nanos, boolean small) {
+        parsed.incrementAndGet();
+        parseTime.addAndGet(nanos);
+        if (small) {
+            smallParsed.incrementAndGet();
+            smallParseTime.addAndGet(nanos);
+        }
+    }
+
+    /**
+     * Records a response which was handled by the pre-scan alone
+     */
+    public void shortCircuited() {
+        shortCircuited.incrementAndGet();
+    }
+
+    /**
+     * Records the size of a received response
+     *
+     * @param key API method and profile, e.g. SYNO.SurveillanceStation.Camera.GetInfo[status]
+     * @param bytes size of the response
+     */
+    public void received(String key, long bytes) {
+        Payload payload = payloads.computeIfAbsent(key, k -> new Payload());
+        payload.calls.incrementAndGet();
+        payload.bytes.addAndGet(bytes);
+    }
+
+    /**
+     * @param key API method and profile
+     * @return average size of the responses in bytes
+     */
+    public long getBytesPerCall(String key) {
+        Payload payload = payloads.get(key);
+        if (payload == null) {
+            return 0;
+        }
+        long count = payload.calls.get();
+        return count == 0 ? 0 : payload.bytes.get() / count;
+    }
+
+    /**
+     * @return number of responses handled without parsing
+     */
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    @Override
+    public String toString() {
+        long count = parsed.get();
+        long small = smallParsed.get();
+        long avgSmall = small == 0 ? 0 : smallParseTime.get() / small;
+        return "Parse [parsed=" + count + ", avgParse="
+                + (count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(parseTime.get() / count)) + " us, shortCircuited="
+                + shortCircuited.get() + ", saved~" + TimeUnit.NANOSECONDS.toMicros(avgSmall * shortCircuited.get())
+                + " us, payload=" + new TreeMap<>(payloads) + "]";
+    }
+}
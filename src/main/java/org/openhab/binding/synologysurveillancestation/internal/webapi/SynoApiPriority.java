@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+/**
+ * Dispatch priority of a Web API request, queued requests of a higher priority are always sent first.
+ *
+ * @author Pavion - Initial contribution
+ */
+public enum SynoApiPriority {
+    /** User commands: PTZ, enable, record, home mode, external events */
+    INTERACTIVE,
+    /** Status and event polling */
+    POLLING,
+    /** Snapshots, discovery and other background work */
+    BULK
+}
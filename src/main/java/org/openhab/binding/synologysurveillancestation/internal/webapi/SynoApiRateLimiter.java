@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+
+/**
+ * The {@link SynoApiRateLimiter} is a token bucket limiting the Web API calls per second sent to one station. The
+ * bucket holds the calls of one second, so short bursts up to the rate are admitted at once.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiRateLimiter {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private int rate;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private long throttled = 0;
+    private long skipped = 0;
+
+    /**
+     * @param config
+     */
+    public SynoApiRateLimiter(SynoConfig config) {
+        setConfig(config);
+    }
+
+    /**
+     * Applies the station configuration, the bucket starts full
+     *
+     * @param config
+     */
+    public synchronized void setConfig(SynoConfig config) {
+        rate = Math.max(0, config.getMaxRate());
+        tokens = rate;
+        lastRefill = System.nanoTime();
+    }
+
+    /**
+     * @return true if calls are limited
+     */
+    public synchronized boolean isEnabled() {
+        return rate > 0;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(rate, tokens + (double) (now - lastRefill) * rate / SECOND);
+        lastRefill = now;
+    }
+
+    /**
+     * Takes a token for a call
+     *
+     * @return true if the call may be sent now
+     */
+    public synchronized boolean tryAcquire() {
+        if (rate <= 0) {
+            return true;
+        }
+        refill();
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Counts a call which had to wait for a token
+     */
+    public synchronized void throttled() {
+        throttled++;
+    }
+
+    /**
+     * @return nanoseconds until the next token is available
+     */
+    public synchronized long getWaitTime() {
+        if (rate <= 0) {
+            return 0;
+        }
+        refill();
+        return tokens >= 1 ? 0 : (long) ((1 - tokens) * SECOND / rate);
+    }
+
+    /**
+     * Checks the budget for a polling tick without taking a token, a tick over budget counts as skipped.
+     *
+     * @return true if the tick has to be skipped
+     */
+    public synchronized boolean skipIfThrottled() {
+        if (rate <= 0) {
+            return false;
+        }
+        refill();
+        if (tokens >= 1) {
+            return false;
+        }
+        skipped++;
+        return true;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Rate [maxRate=" + rate + ", throttled=" + throttled + ", skipped=" + skipped + "]";
+    }
+}
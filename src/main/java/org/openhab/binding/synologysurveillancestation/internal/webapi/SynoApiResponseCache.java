@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponse;
+
+/**
+ * The {@link SynoApiResponseCache} is a bounded cache of successful read-only responses of one station. Entries
+ * expire after the TTL of their API method and are evicted least recently used first. Writes to an API invalidate
+ * its entries, a new session clears the cache.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiResponseCache {
+
+    /**
+     * TTL for entries valid until the session changes
+     */
+    public static final long TTL_SESSION = Long.MAX_VALUE;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int maxSize;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * A cached response and its expiry
+     */
+    private static class Entry {
+        private final String api;
+        private final SynoApiResponse response;
+        private final long expires;
+
+        private Entry(String api, SynoApiResponse response, long expires) {
+            this.api = api;
+            this.response = response;
+            this.expires = expires;
+        }
+
+        private boolean isExpired(long now) {
+            return expires != TTL_SESSION && now - expires > 0;
+        }
+    }
+
+    /**
+     * @param config
+     */
+    public SynoApiResponseCache(SynoConfig config) {
+        this.maxSize = config.getCacheSize();
+    }
+
+    /**
+     * Applies the station configuration and clears the cache
+     *
+     * @param config
+     */
+    public synchronized void setConfig(SynoConfig config) {
+        maxSize = config.getCacheSize();
+        entries.clear();
+    }
+
+    /**
+     * @return true if responses are cached
+     */
+    public synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @param key
+     * @return cached response or null if missing or expired
+     */
+    public synchronized @Nullable SynoApiResponse get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    /**
+     * Caches a response.
+     *
+     * @param api API name, used for invalidation
+     * @param key
+     * @param response
+     * @param ttl time to live in milliseconds or {@link #TTL_SESSION}
+     */
+    public synchronized void put(String api, String key, SynoApiResponse response, long ttl) {
+        if (maxSize <= 0 || ttl <= 0) {
+            return;
+        }
+        long expires = ttl == TTL_SESSION ? TTL_SESSION : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl);
+        entries.put(key, new Entry(api, response, expires));
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes all entries of an API, e.g. after a write
+     *
+     * @param api API name
+     */
+    public synchronized void invalidate(String api) {
+        entries.values().removeIf(entry -> entry.api.equals(api));
+    }
+
+    /**
+     * Removes all entries, e.g. after a session change
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Cache [size=" + entries.size() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + "]";
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponse;
+
+/**
+ * The {@link SynoApiRetryPolicy} decides whether a failed idempotent call of one station is retried. Failures are
+ * classified, only transient ones are retried with a short jittered backoff within the configured time budget.
+ *
+ * Session errors (105/119) are not retried here, they need a new login.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiRetryPolicy {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_DELAY = 200;
+
+    /**
+     * Failure classes
+     */
+    public enum FailureClass {
+        /** connection refused, reset or closed */
+        TRANSPORT(true),
+        /** request timed out */
+        TIMEOUT(true),
+        /** HTTP 5xx response */
+        SERVER(true),
+        /** transient DSM error, e.g. internal connect timeout */
+        API_TRANSIENT(true),
+        /** session expired or insufficient privilege */
+        SESSION(false),
+        /** permanent DSM or HTTP error */
+        API(false),
+        /** rejected by the circuit breaker or aborted by the binding */
+        REJECTED(false);
+
+        private final boolean retryable;
+
+        FailureClass(boolean retryable) {
+            this.retryable = retryable;
+        }
+
+        /**
+         * @return true if a call failing this way may succeed when repeated
+         */
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    private final Map<FailureClass, AtomicLong> retries = new EnumMap<>(FailureClass.class);
+    private final AtomicLong exhausted = new AtomicLong();
+    private volatile long budget;
+
+    /**
+     * @param config
+     */
+    public SynoApiRetryPolicy(SynoConfig config) {
+        for (FailureClass failureClass : FailureClass.values()) {
+            retries.put(failureClass, new AtomicLong());
+        }
+        setConfig(config);
+    }
+
+    /**
+     * Applies the station configuration
+     *
+     * @param config
+     */
+    public void setConfig(SynoConfig config) {
+        budget = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getRetryBudget()));
+    }
+
+    /**
+     * Classifies the outcome of a call.
+     *
+     * @param failure failure of the call
+     * @param response API response of the call
+     * @return failure class or null for a successful call
+     */
+    public static @Nullable FailureClass classify(@Nullable Throwable failure, @Nullable SynoApiResponse response) {
+        if (failure != null) {
+            WebApiException e = WebApiException.unwrap(failure);
+            if (e instanceof WebApiCircuitOpenException) {
+                return FailureClass.REJECTED;
+            }
+            if (e instanceof WebApiHttpException) {
+                return ((WebApiHttpException) e).getStatus() >= 500 ? FailureClass.SERVER : FailureClass.API;
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof CancellationException) {
+                return FailureClass.REJECTED;
+            }
+            if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException) {
+                return FailureClass.TIMEOUT;
+            }
+            if (cause instanceof IOException) {
+                return FailureClass.TRANSPORT;
+            }
+            return classify(e.getErrorCode());
+        }
+        if (response != null && !response.isSuccess()) {
+            return classify(response.getErrorcode());
+        }
+        return null;
+    }
+
+    /**
+     * @param failure
+     * @return true if the failure is a transport failure or timeout of the connection
+     */
+    public static boolean isConnectionFailure(@Nullable Throwable failure) {
+        FailureClass failureClass = classify(failure, null);
+        return failureClass == FailureClass.TRANSPORT || failureClass == FailureClass.TIMEOUT;
+    }
+
+    private static FailureClass classify(int errorCode) {
+        if (errorCode == WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE.getCode()
+                || errorCode == WebApiAuthErrorCodes.UNKNOWN_ERROR_119.getCode()) {
+            return FailureClass.SESSION;
+        }
+        if (errorCode == WebApiAuthErrorCodes.UNKNOWN_ERROR.getCode()
+                || errorCode == WebApiAuthErrorCodes.CONNECT_TIMEOUT.getCode()
+                || errorCode == WebApiAuthErrorCodes.MESSAGE_CONNECT_ERROR.getCode()) {
+            return FailureClass.API_TRANSIENT;
+        }
+        return FailureClass.API;
+    }
+
+    /**
+     * Returns the delay before the next attempt of a failed idempotent call and counts the retry.
+     *
+     * @param failure failure of the call
+     * @param response API response of the call
+     * @param attempt number of the failed attempt, starting with 1
+     * @param started start of the first attempt (nanoTime)
+     * @return delay in milliseconds or -1 if not retried
+     */
+    public long getRetryDelay(@Nullable Throwable failure, @Nullable SynoApiResponse response, int attempt,
+            long started) {
+        FailureClass failureClass = classify(failure, response);
+        if (failureClass == null || !failureClass.isRetryable()) {
+            return -1;
+        }
+        long delay = BASE_DELAY << (attempt - 1);
+        delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        if (attempt >= MAX_ATTEMPTS
+                || System.nanoTime() - started + TimeUnit.MILLISECONDS.toNanos(delay) > budget) {
+            exhausted.incrementAndGet();
+            return -1;
+        }
+        retries.get(failureClass).incrementAndGet();
+        return delay;
+    }
+
+    /**
+     * @param failureClass
+     * @return number of retries after failures of the class
+     */
+    public long getRetries(FailureClass failureClass) {
+        return retries.get(failureClass).get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Retry [exhausted=").append(exhausted.get());
+        for (Map.Entry<FailureClass, AtomicLong> entry : retries.entrySet()) {
+            if (entry.getKey().isRetryable()) {
+                sb.append(", ").append(entry.getKey().name().toLowerCase()).append("=").append(entry.getValue().get());
+            }
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SynoApiSingleFlight} coalesces identical read-only calls of one station. While a call is in flight,
+ * further calls with the same key share its HTTP exchange and parsed response.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiSingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * Executes the call unless an identical call is in flight.
+     *
+     * @param key identifies the call (API, method and parameters)
+     * @param call starts the call
+     * @return future completed with the shared response, cancelling it doesn't affect other callers
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> execute(String key, Supplier<CompletableFuture<R>> call) {
+        calls.incrementAndGet();
+        CompletableFuture<R> created = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.incrementAndGet();
+            return ((CompletableFuture<R>) existing).thenApply(r -> r);
+        }
+
+        try {
+            call.get().whenComplete((result, failure) -> {
+                // remove first, later calls must not get a completed flight
+                inFlight.remove(key, created);
+                if (failure != null) {
+                    created.completeExceptionally(failure);
+                } else {
+                    created.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created.thenApply(r -> r);
+    }
+
+    /**
+     * @return number of calls which shared an exchange in flight
+     */
+    public long getShared() {
+        return shared.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlight [calls=" + calls.get() + ", shared=" + shared.get() + ", inFlight=" + inFlight.size()
+                + "]";
+    }
+}
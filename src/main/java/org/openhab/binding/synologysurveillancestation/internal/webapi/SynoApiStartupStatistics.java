@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SynoApiStartupStatistics} measures the start of a station: the connection pre-warming and the time from
+ * the bridge start to the first snapshot of each camera.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiStartupStatistics {
+
+    private final Map<String, Long> firstSnapshots = new ConcurrentHashMap<>();
+    private volatile long started = System.nanoTime();
+    private volatile int warmConnections = 0;
+    private volatile int requestedConnections = 0;
+    private volatile long prewarmTime = 0;
+
+    /**
+     * Restarts the measurement, e.g. when the bridge is initialized
+     */
+    public void start() {
+        started = System.nanoTime();
+        firstSnapshots.clear();
+    }
+
+    /**
+     * Records the result of a pre-warming
+     *
+     * @param warm number of verified connections
+     * @param requested number of requested connections
+     * @param nanos duration of the pre-warming
+     */
+    public void prewarmed(int warm, int requested, long nanos) {
+        warmConnections = warm;
+        requestedConnections = requested;
+        prewarmTime = nanos;
+    }
+
+    /**
+     * Records a snapshot, only the first one per camera after the start is kept
+     *
+     * @param cameraId
+     */
+    public void snapshot(String cameraId) {
+        if (!firstSnapshots.containsKey(cameraId)) {
+            firstSnapshots.putIfAbsent(cameraId, System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (long time : firstSnapshots.values()) {
+            min = Math.min(min, time);
+            max = Math.max(max, time);
+        }
+        String firstSnapshot = firstSnapshots.isEmpty() ? "-"
+                : TimeUnit.NANOSECONDS.toMillis(min) + "/" + TimeUnit.NANOSECONDS.toMillis(max) + " ms (min/max of "
+                        + firstSnapshots.size() + " cameras)";
+        return "Startup [warmConnections=" + warmConnections + "/" + requestedConnections + " in "
+                + TimeUnit.NANOSECONDS.toMillis(prewarmTime) + " ms, firstSnapshot=" + firstSnapshot + "]";
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SynoApiStreamReader} reads the result of a request directly from the response content while it
+ * arrives, see {@link SynoApiDispatcher#sendStreamingAsync}.
+ *
+ * @param <R> type of the result
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface SynoApiStreamReader<R> {
+
+    /**
+     * Reads the result, the content isn't closed by the reader.
+     *
+     * @param content response content
+     * @param charset charset of the response
+     * @return result
+     * @throws IOException if the content can't be read, e.g. the response failed
+     */
+    R read(InputStream content, Charset charset) throws IOException;
+}
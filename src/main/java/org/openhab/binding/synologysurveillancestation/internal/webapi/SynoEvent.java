@@ -33,6 +33,7 @@ public class SynoEvent {
 
     private boolean eventCompleted = true;
     private long eventId = -1;
+    private long startTime = 0;
     private final int reason;
 
     /**
@@ -50,11 +51,13 @@ public class SynoEvent {
      * @param eventCompleted
      * @param eventId
      * @param reason
+     * @param startTime
      */
-    public SynoEvent(long eventId, boolean eventCompleted, int reason) {
+    public SynoEvent(long eventId, boolean eventCompleted, int reason, long startTime) {
         this.eventCompleted = eventCompleted;
         this.eventId = eventId;
         this.reason = reason;
+        this.startTime = startTime;
     }
 
     /**
@@ -85,6 +88,22 @@ public class SynoEvent {
         this.eventId = eventId;
     }
 
+    /**
+     * @return the startTime
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @return the event that started later, the first one if both started at the same time
+     */
+    public static SynoEvent newer(SynoEvent first, SynoEvent second) {
+        return second.startTime > first.startTime ? second : first;
+    }
+
     /**
      * @return the reason
      */
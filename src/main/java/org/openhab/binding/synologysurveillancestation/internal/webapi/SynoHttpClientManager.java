@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.ConnectionPool;
+import org.eclipse.jetty.client.DuplexConnectionPool;
+import org.eclipse.jetty.client.ContentDecoder;
+import org.eclipse.jetty.client.GZIPContentDecoder;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.api.Destination;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.smarthome.io.net.http.HttpClientFactory;
+import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SynoHttpClientManager} owns the dedicated HTTP client of one station, so station traffic doesn't
+ * share connection pools and limits with other bindings.
+ *
+ * Optionally the client uses the HTTP/2 transport, so all calls share one multiplexed connection. https stations
+ * need ALPN support of the runtime for HTTP/2.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoHttpClientManager {
+    private final Logger logger = LoggerFactory.getLogger(SynoHttpClientManager.class);
+
+    private static final String GZIP = "gzip";
+    private static final String HTTPS = "https";
+    private static final String CONSUMER_PREFIX = "syno-";
+    private static final int CONSUMER_MAX_LENGTH = 20;
+
+    private final HttpClientFactory httpClientFactory;
+    private final String consumerName;
+    private volatile HttpClient httpClient;
+    private boolean http2Requested;
+    private boolean http2;
+    private boolean gzip = true;
+
+    /**
+     * @param httpClientFactory
+     * @param stationId id of the station, used to name the client
+     * @param config
+     */
+    public SynoHttpClientManager(HttpClientFactory httpClientFactory, String stationId, SynoConfig config) {
+        String consumerName = CONSUMER_PREFIX + stationId.replaceAll("[^a-zA-Z0-9_-]", "_");
+        if (consumerName.length() > CONSUMER_MAX_LENGTH) {
+            // consumer names are limited by the client factory
+            consumerName = consumerName.substring(0, CONSUMER_MAX_LENGTH);
+        }
+        this.httpClientFactory = httpClientFactory;
+        this.consumerName = consumerName;
+        this.http2Requested = isHttp2(config);
+        this.httpClient = createHttpClient(http2Requested);
+        configure(config);
+    }
+
+    /**
+     * Returns true if the configuration asks for HTTP/2 over https. The station serves HTTP/2 only after ALPN
+     * negotiation, plain http stays on HTTP/1.1.
+     *
+     * @param config
+     * @return true if HTTP/2 is to be used
+     */
+    private static boolean isHttp2(SynoConfig config) {
+        return config.isHttp2() && HTTPS.equalsIgnoreCase(config.getProtocol());
+    }
+
+    /**
+     * Creates the client with the requested transport
+     *
+     * @param useHttp2
+     * @return
+     */
+    private HttpClient createHttpClient(boolean useHttp2) {
+        HttpClient client = httpClientFactory.createHttpClient(consumerName);
+        if (useHttp2) {
+            try {
+                HTTP2Client http2Client = new HTTP2Client();
+                HttpClient multiplexed = new HttpClient(new HttpClientTransportOverHTTP2(http2Client),
+                        client.getSslContextFactory());
+                if (client.getExecutor() != null) {
+                    multiplexed.setExecutor(client.getExecutor());
+                }
+                http2 = true;
+                return multiplexed;
+            } catch (NoClassDefFoundError e) {
+                logger.warn("HTTP/2 transport not available, using HTTP/1.1");
+            }
+        }
+        http2 = false;
+        return client;
+    }
+
+    /**
+     * @return HTTP client of this station
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Applies the client settings of the station configuration. TLS and transport settings are effective after the
+     * next start, a changed transport replaces the client.
+     *
+     * @param config
+     */
+    public synchronized void configure(SynoConfig config) {
+        if (config.isHttp2() && !isHttp2(config)) {
+            logger.warn("HTTP/2 requires https, using HTTP/1.1 for {}", config.getProtocol());
+        }
+        if (isHttp2(config) != http2Requested && !httpClient.isStarted()) {
+            http2Requested = isHttp2(config);
+            httpClient = createHttpClient(http2Requested);
+        }
+
+        httpClient.setMaxConnectionsPerDestination(Math.max(1, config.getPoolSize()));
+        httpClient.setIdleTimeout(config.getIdleTimeout() * 1000L);
+        httpClient.setConnectTimeout(config.getConnectTimeout());
+
+        gzip = config.isGzip();
+        if (httpClient.isStarted()) {
+            applyGzip();
+        }
+
+        SslContextFactory sslContextFactory = httpClient.getSslContextFactory();
+        if (sslContextFactory != null && !httpClient.isStarted()) {
+            sslContextFactory.setSessionCachingEnabled(config.isTlsSessionReuse());
+        }
+    }
+
+    /**
+     * Starts the client if not yet running
+     *
+     * @throws WebApiException
+     */
+    public synchronized void start() throws WebApiException {
+        if (!httpClient.isStarted()) {
+            try {
+                httpClient.start();
+            } catch (Exception e) {
+                throw new WebApiException(e);
+            }
+            applyGzip();
+        }
+    }
+
+    /**
+     * Applies the gzip setting to the decoders of the started client. The client adds the gzip decoder on each
+     * start, so the decoders are only changed if the setting differs from this default.
+     */
+    private void applyGzip() {
+        boolean decoding = false;
+        for (ContentDecoder.Factory factory : httpClient.getContentDecoderFactories()) {
+            decoding |= GZIP.equals(factory.getEncoding());
+        }
+        if (gzip && !decoding) {
+            httpClient.getContentDecoderFactories().add(new GZIPContentDecoder.Factory());
+        } else if (!gzip && decoding) {
+            // no decoder, no Accept-Encoding header
+            httpClient.getContentDecoderFactories().removeIf(factory -> GZIP.equals(factory.getEncoding()));
+        }
+    }
+
+    /**
+     * Stops the client, pending requests are aborted
+     */
+    public synchronized void stop() {
+        if (httpClient.isStarted()) {
+            try {
+                httpClient.stop();
+            } catch (Exception e) {
+                logger.debug("Stopping HTTP client failed", e);
+            }
+        }
+    }
+
+    /**
+     * @return connection pool statistics over all destinations of this client
+     */
+    public String getPoolStatistics() {
+        int connections = 0;
+        int idle = 0;
+        int active = 0;
+        int queued = 0;
+        for (Destination destination : httpClient.getDestinations()) {
+            if (destination instanceof HttpDestination) {
+                HttpDestination httpDestination = (HttpDestination) destination;
+                queued += httpDestination.getQueuedRequestCount();
+                ConnectionPool pool = httpDestination.getConnectionPool();
+                if (pool instanceof AbstractConnectionPool) {
+                    connections += ((AbstractConnectionPool) pool).getConnectionCount();
+                }
+                if (pool instanceof DuplexConnectionPool) {
+                    idle += ((DuplexConnectionPool) pool).getIdleConnectionCount();
+                    active += ((DuplexConnectionPool) pool).getActiveConnectionCount();
+                }
+            }
+        }
+        return "Pool [transport=" + (http2 ? "HTTP/2" : "HTTP/1.1") + ", connections=" + connections + ", idle="
+                + idle + ", active=" + active + ", queued=" + queued + ", maxConnections="
+                + httpClient.getMaxConnectionsPerDestination() + "]";
+    }
+}
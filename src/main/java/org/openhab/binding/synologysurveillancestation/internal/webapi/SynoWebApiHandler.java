@@ -13,6 +13,7 @@
 package org.openhab.binding.synologysurveillancestation.internal.webapi;
 
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.client.HttpClient;
@@ -31,6 +32,8 @@ import org.openhab.binding.synologysurveillancestation.internal.webapi.request.S
 import org.openhab.binding.synologysurveillancestation.internal.webapi.request.SynoApiRequest;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.AuthResponse;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SynoWebApiHandler} is a facade for Synology Surveillance Station Web API.
@@ -40,27 +43,38 @@ import org.openhab.binding.synologysurveillancestation.internal.webapi.response.
  */
 @NonNullByDefault
 public class SynoWebApiHandler implements SynoWebApi {
+    private final Logger logger = LoggerFactory.getLogger(SynoWebApiHandler.class);
 
-    private SynoConfig config;
-    private String sessionID = "";
+    private volatile SynoConfig config;
+    private volatile String sessionID = "";
 
     private final HashMap<Class<?>, SynoApiRequest<?>> api = new HashMap<>();
+    private final SynoApiDispatcher dispatcher;
+    private final SynoApiSingleFlight singleFlight = new SynoApiSingleFlight();
+    private final SynoApiStartupStatistics startupStatistics = new SynoApiStartupStatistics();
+    private final SynoApiResponseCache cache;
 
     /**
      * @param config
      */
     public SynoWebApiHandler(SynoConfig config, HttpClient httpClient) {
         this.config = config;
-        api.put(SynoApiAuth.class, new SynoApiAuth(config, httpClient));
-        api.put(SynoApiInfo.class, new SynoApiInfo(config, httpClient));
-        api.put(SynoApiCamera.class, new SynoApiCamera(config, httpClient));
-        api.put(SynoApiEvent.class, new SynoApiEvent(config, httpClient));
-        api.put(SynoApiHomeMode.class, new SynoApiHomeMode(config, httpClient));
-        api.put(SynoApiExternalRecording.class, new SynoApiExternalRecording(config, httpClient));
-        api.put(SynoApiPTZ.class, new SynoApiPTZ(config, httpClient));
-        api.put(SynoApiLiveUri.class, new SynoApiLiveUri(config, httpClient));
-        api.put(SynoApiExternalEvent.class, new SynoApiExternalEvent(config, httpClient));
-        api.put(SynoApiCameraEvent.class, new SynoApiCameraEvent(config, httpClient));
+        this.dispatcher = new SynoApiDispatcher(config, httpClient);
+        this.cache = new SynoApiResponseCache(config);
+        api.put(SynoApiAuth.class, new SynoApiAuth(config, dispatcher));
+        api.put(SynoApiInfo.class, new SynoApiInfo(config, dispatcher));
+        api.put(SynoApiCamera.class, new SynoApiCamera(config, dispatcher));
+        api.put(SynoApiEvent.class, new SynoApiEvent(config, dispatcher));
+        api.put(SynoApiHomeMode.class, new SynoApiHomeMode(config, dispatcher));
+        api.put(SynoApiExternalRecording.class, new SynoApiExternalRecording(config, dispatcher));
+        api.put(SynoApiPTZ.class, new SynoApiPTZ(config, dispatcher));
+        api.put(SynoApiLiveUri.class, new SynoApiLiveUri(config, dispatcher));
+        api.put(SynoApiExternalEvent.class, new SynoApiExternalEvent(config, dispatcher));
+        api.put(SynoApiCameraEvent.class, new SynoApiCameraEvent(config, dispatcher));
+        for (SynoApiRequest<?> r : api.values()) {
+            r.setSingleFlight(singleFlight);
+            r.setCache(cache);
+        }
     }
 
     /**
@@ -75,6 +89,8 @@ public class SynoWebApiHandler implements SynoWebApi {
      */
     public void setConfig(SynoConfig config) {
         this.config = config;
+        dispatcher.setConfig(config);
+        cache.setConfig(config);
         for (SynoApiRequest<?> r : api.values()) {
             r.setConfig(config);
         }
@@ -85,6 +101,7 @@ public class SynoWebApiHandler implements SynoWebApi {
      */
     public void setSessionID(String sessionID) {
         this.sessionID = sessionID;
+        cache.clear();
         for (SynoApiRequest<?> r : api.values()) {
             r.setSessionId(sessionID);
         }
@@ -136,6 +153,75 @@ public class SynoWebApiHandler implements SynoWebApi {
         return (!this.sessionID.equals(""));
     }
 
+    /**
+     * @param httpClient the HTTP client for all API calls of this station
+     */
+    public void setHttpClient(HttpClient httpClient) {
+        dispatcher.setHttpClient(httpClient);
+    }
+
+    /**
+     * @return request statistics of this station
+     */
+    public String getStatistics() {
+        return dispatcher + ", " + singleFlight + ", " + cache + ", " + startupStatistics;
+    }
+
+    /**
+     * Opens and verifies connections to the station, so the first polls of all cameras don't connect at once.
+     * Doesn't block, the future completes at the latest after the connect timeout. The result is recorded in the
+     * start statistics.
+     *
+     * @return future completed with the number of verified connections
+     */
+    public CompletableFuture<Integer> prewarmAsync() {
+        int connections = Math.max(1, Math.min(config.getPoolSize(), config.getMaxRequests()));
+        long start = System.nanoTime();
+        return dispatcher.prewarmAsync(connections, config.getConnectTimeout()).whenComplete((warm, failure) -> {
+            if (failure != null) {
+                logger.debug("Pre-warming connections failed: {}", failure.getMessage());
+            }
+            startupStatistics.prewarmed(warm == null ? 0 : warm, connections, System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * @return start statistics of this station
+     */
+    public SynoApiStartupStatistics getStartupStatistics() {
+        return startupStatistics;
+    }
+
+    /**
+     * Checks the request rate budget for a polling tick.
+     *
+     * @return true if the tick has to be skipped, the skip is counted
+     */
+    public boolean skipIfThrottled() {
+        return dispatcher.getRateLimiter().skipIfThrottled();
+    }
+
+    /**
+     * @return true if the station is unreachable and requests are rejected
+     */
+    public boolean isCircuitOpen() {
+        return dispatcher.getCircuitBreaker().isOpen();
+    }
+
+    /**
+     * @return the response cache of this station
+     */
+    public SynoApiResponseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * @return the dispatcher of this station
+     */
+    public SynoApiDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * @return the apiCameraEvent
      */
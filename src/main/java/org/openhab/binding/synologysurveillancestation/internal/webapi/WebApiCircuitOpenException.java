@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link WebApiCircuitOpenException} is thrown for requests rejected while the station is unreachable
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class WebApiCircuitOpenException extends WebApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WebApiCircuitOpenException() {
+        super("Station unreachable, request not sent");
+    }
+
+}
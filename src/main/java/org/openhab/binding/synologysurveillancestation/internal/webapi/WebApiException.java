@@ -12,6 +12,9 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.ErrorCode;
 
@@ -75,4 +78,22 @@ public class WebApiException extends Exception {
         return errorMsg;
     }
 
+    /**
+     * Returns the failure of an asynchronous call as WebApiException, the original cause is kept.
+     *
+     * @param e failure of a CompletableFuture
+     * @return
+     */
+    public static WebApiException unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof WebApiException) {
+            return (WebApiException) cause;
+        }
+        return new WebApiException(cause);
+    }
+
 }
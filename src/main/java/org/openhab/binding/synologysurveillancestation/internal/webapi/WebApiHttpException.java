@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link WebApiHttpException} is thrown for HTTP responses other than 200
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class WebApiHttpException extends WebApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public WebApiHttpException(int status) {
+        super("Error calling Surveillance Station WebApi! HTTP status " + status);
+        this.status = status;
+    }
+
+    /**
+     * @return HTTP status of the response
+     */
+    public int getStatus() {
+        return status;
+    }
+
+}
@@ -16,8 +16,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.AuthResponse;
 
@@ -45,8 +45,8 @@ public class SynoApiAuth extends SynoApiRequest<AuthResponse> {
     /**
      * @param config
      */
-    public SynoApiAuth(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiAuth(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, AuthResponse::new);
     }
 
     /**
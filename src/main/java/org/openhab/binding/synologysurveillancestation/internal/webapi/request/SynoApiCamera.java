@@ -12,23 +12,19 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URISyntaxException;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-import org.apache.commons.io.IOUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
-import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Request;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiPriority;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
@@ -73,44 +69,67 @@ public class SynoApiCamera extends SynoApiRequest<CameraResponse> {
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_08, API_SCRIPT_ENTRY);
 
     /**
-     * @param config
+     * Request profiles, each caller asks only for the camera details it needs. The station serializes less and the
+     * responses are smaller, see the payload statistics of the dispatcher.
      */
-    public SynoApiCamera(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public enum Profile {
+        /** enabled and recording state, e.g. for polling, without the basic, privilege and stream details */
+        STATUS("status", "blFromCamList", API_TRUE, "blIncludeDeletedCam", API_FALSE, "blPrivilege", API_FALSE),
+        /** IDs and names of the cameras visible to the user */
+        DISCOVERY("discovery", "blFromCamList", API_TRUE, "privCamType", API_TRUE, "blIncludeDeletedCam", API_FALSE,
+                "basic", API_TRUE, "blPrivilege", API_FALSE),
+        /** all properties including the stream details */
+        FULL("full", "blFromCamList", API_TRUE, "privCamType", API_TRUE, "blIncludeDeletedCam", API_FALSE, "basic",
+                API_TRUE, "streamInfo", API_TRUE, "blPrivilege", API_FALSE);
+
+        private final String name;
+        private final String[] params;
+
+        Profile(String name, String... params) {
+            this.name = name;
+            this.params = params;
+        }
     }
 
+    // API templates
+    private final Map<Profile, SynoApiRequestTemplate> listTemplates = new EnumMap<>(Profile.class);
+    private final Map<Profile, SynoApiRequestTemplate> infoTemplates = new EnumMap<>(Profile.class);
+    private final SynoApiRequestTemplate snapshotTemplate = new SynoApiRequestTemplate(METHOD_GETSNAPSHOT);
+    private final SynoApiRequestTemplate enableTemplate = new SynoApiRequestTemplate(METHOD_ENABLE);
+    private final SynoApiRequestTemplate disableTemplate = new SynoApiRequestTemplate(METHOD_DISABLE);
+
     /**
-     * Calls the passed method for all cameras.
-     *
-     * @param method
-     * @return
-     * @throws WebApiException
+     * @param config
      */
-    private CameraResponse call(String method) throws WebApiException {
-        return call(method, "");
+    public SynoApiCamera(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, CameraResponse::new);
+        for (Profile profile : Profile.values()) {
+            listTemplates.put(profile, new SynoApiRequestTemplate(METHOD_LIST, profile.params, profile.name));
+            infoTemplates.put(profile, new SynoApiRequestTemplate(METHOD_GETINFO, profile.params, profile.name));
+        }
     }
 
-    /**
-     * Calls the passed method.
-     *
-     * @param method
-     * @param cameraId
-     * @return
-     * @throws WebApiException
-     */
-    private CameraResponse call(String method, String cameraId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API parameters
-        params.put("blFromCamList", API_TRUE);
-        params.put("privCamType", API_TRUE);
-        params.put("blIncludeDeletedCam", API_FALSE);
-        params.put("basic", API_TRUE);
-        params.put("streamInfo", API_TRUE);
-        params.put("blPrivilege", API_FALSE);
-        params.put("cameraIds", cameraId);
-
-        return callApi(method, params);
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_GETINFO.equals(method) || METHOD_LIST.equals(method);
+    }
+
+    @Override
+    protected SynoApiPriority getPriority(String method, @Nullable String profile) {
+        // camera list of the discovery is bulk work, the status list is polled
+        return METHOD_LIST.equals(method) && Profile.DISCOVERY.name.equals(profile) ? SynoApiPriority.BULK
+                : super.getPriority(method, profile);
+    }
+
+    @Override
+    protected boolean isHedged(String method) {
+        return METHOD_GETINFO.equals(method) || METHOD_GETSNAPSHOT.equals(method);
+    }
+
+    @Override
+    protected long getCacheTtl(String method) {
+        // short TTL, both carry the enabled and recording state polled for all cameras
+        return METHOD_GETINFO.equals(method) || METHOD_LIST.equals(method) ? 2000 : CACHE_NONE;
     }
 
     /**
@@ -122,42 +141,47 @@ public class SynoApiCamera extends SynoApiRequest<CameraResponse> {
      * @throws URISyntaxException
      *
      */
-    public byte[] getSnapshot(String cameraId, int timeout, int streamId)
-            throws IOException, URISyntaxException, WebApiException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    public byte[] getSnapshot(String cameraId, int streamId) throws IOException, URISyntaxException, WebApiException {
+        return await(getSnapshotAsync(cameraId, streamId));
+    }
 
+    /**
+     * Get the up-to-date snapshot of the selected camera in JPEG format asynchronously. The timeout is derived from
+     * the snapshot latency of the station.
+     *
+     * @param cameraId
+     * @param streamId
+     * @return future completed with the JPEG data
+     */
+    public CompletableFuture<byte[]> getSnapshotAsync(String cameraId, int streamId) {
+        Request request;
         try {
-            Map<String, String> params = new HashMap<>();
-
-            // API parameters
-            params.put("cameraId", cameraId);
-            params.put("camStm", String.valueOf(streamId));
-
-            Request request = getWebApiUrl(METHOD_GETSNAPSHOT, params);
-
-            long responseTime = System.currentTimeMillis();
+            request = getWebApiUrl(snapshotTemplate, "cameraId", cameraId, "camStm", String.valueOf(streamId));
+        } catch (WebApiException e) {
+            CompletableFuture<byte[]> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
 
-            ContentResponse response = request.timeout(timeout, TimeUnit.SECONDS).send();
+        long requestTime = System.currentTimeMillis();
 
-            responseTime = System.currentTimeMillis() - responseTime;
+        return sendWebApiAsync(request, METHOD_GETSNAPSHOT, SynoApiPriority.BULK).thenApply(response -> {
+            long responseTime = System.currentTimeMillis() - requestTime;
+            byte[] ret = new byte[0];
             if (response.getStatus() == 200) {
-                byte[] ret = response.getContent();
+                ret = response.getContent();
                 if (ret.length < 200) {
                     if (new String(ret).contains("\"success\":false")) {
                         logger.trace("Device: {}, API response time: {} ms, unexpected response: {}", cameraId,
                                 responseTime, new String(ret));
-                        throw new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE);
+                        throw new CompletionException(
+                                new WebApiException(WebApiAuthErrorCodes.INSUFFICIENT_USER_PRIVILEGE));
                     }
                 }
-                InputStream is = new ByteArrayInputStream(ret);
-                IOUtils.copy(is, baos);
             }
             logger.trace("Device: {}, API response time: {} ms, stream id: {}", cameraId, responseTime, streamId);
-            return baos.toByteArray();
-        } catch (IllegalArgumentException | SecurityException | ExecutionException | TimeoutException
-                | InterruptedException e) {
-            throw new WebApiException(e);
-        }
+            return ret;
+        });
     }
 
     /**
@@ -171,13 +195,7 @@ public class SynoApiCamera extends SynoApiRequest<CameraResponse> {
      */
     public String getSnapshotUri(String cameraId, int streamId) throws WebApiException {
         try {
-            Map<String, String> params = new HashMap<>();
-
-            // API parameters
-            params.put("cameraId", cameraId);
-            params.put("camStm", String.valueOf(streamId));
-
-            Request request = getWebApiUrl(METHOD_GETSNAPSHOT, params);
+            Request request = getWebApiUrl(snapshotTemplate, "cameraId", cameraId, "camStm", String.valueOf(streamId));
             return request.getURI().toString();
         } catch (Exception e) {
             throw new WebApiException(e);
@@ -187,32 +205,58 @@ public class SynoApiCamera extends SynoApiRequest<CameraResponse> {
     /**
      * Get the list of all cameras.
      *
+     * @param profile details to request
      * @return
      * @throws WebApiException
      */
-    public CameraResponse listCameras() throws WebApiException {
-        CameraResponse response = call(METHOD_LIST);
-
-        if (!response.isSuccess()) {
-            throw new WebApiException(WebApiAuthErrorCodes.getByCode(response.getErrorcode()));
-        }
+    public CameraResponse listCameras(Profile profile) throws WebApiException {
+        return await(listCamerasAsync(profile));
+    }
 
-        return response;
+    /**
+     * Get the list of all cameras asynchronously.
+     *
+     * @param profile details to request
+     * @return
+     */
+    public CompletableFuture<CameraResponse> listCamerasAsync(Profile profile) {
+        return callApiAsync(listTemplates.get(profile), "cameraIds", "").thenApply(SynoApiCamera::checkSuccess);
     }
 
     /**
      * Get specific camera settings.
      *
+     * @param cameraId
+     * @param profile details to request
      * @return
      * @throws WebApiException
      */
-    public CameraResponse getInfo(String cameraId) throws WebApiException {
-        CameraResponse response = call(METHOD_GETINFO, cameraId);
+    public CameraResponse getInfo(String cameraId, Profile profile) throws WebApiException {
+        return await(getInfoAsync(cameraId, profile));
+    }
+
+    /**
+     * Get specific camera settings asynchronously.
+     *
+     * @param cameraId
+     * @param profile details to request
+     * @return
+     */
+    public CompletableFuture<CameraResponse> getInfoAsync(String cameraId, Profile profile) {
+        return callApiAsync(infoTemplates.get(profile), "cameraIds", cameraId).thenApply(SynoApiCamera::checkSuccess);
+    }
 
+    /**
+     * Fails the call if the response isn't successful
+     *
+     * @param response
+     * @return
+     */
+    private static CameraResponse checkSuccess(CameraResponse response) {
         if (!response.isSuccess()) {
-            throw new WebApiException(WebApiAuthErrorCodes.getByCode(response.getErrorcode()));
+            throw new CompletionException(
+                    new WebApiException(WebApiAuthErrorCodes.getByCode(response.getErrorcode())));
         }
-
         return response;
     }
 
@@ -224,9 +268,6 @@ public class SynoApiCamera extends SynoApiRequest<CameraResponse> {
      * @throws WebApiException
      */
     public CameraResponse toggleCamera(String cameraId, boolean on) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-        params.put("cameraIds", cameraId);
-
-        return callApi(on ? METHOD_ENABLE : METHOD_DISABLE, params);
+        return callApi(on ? enableTemplate : disableTemplate, "cameraIds", cameraId);
     }
 }
@@ -12,12 +12,12 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiPriority;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraEventResponse;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
@@ -41,11 +41,31 @@ public class SynoApiCameraEvent extends SynoApiRequest<CameraEventResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.Camera.Event";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_01, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate motionEnumTemplate = new SynoApiRequestTemplate(METHOD_MOTIONENUM);
+    private final SynoApiRequestTemplate mdParamSaveTemplate = new SynoApiRequestTemplate(METHOD_MDPARAMSAVE, "keep",
+            "true");
+
     /**
      * @param config
      */
-    public SynoApiCameraEvent(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiCameraEvent(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, CameraEventResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_MOTIONENUM.equals(method);
+    }
+
+    @Override
+    protected SynoApiPriority getPriority(String method) {
+        return METHOD_MOTIONENUM.equals(method) ? SynoApiPriority.BULK : super.getPriority(method);
+    }
+
+    @Override
+    protected long getCacheTtl(String method) {
+        return METHOD_MOTIONENUM.equals(method) ? 60000 : CACHE_NONE;
     }
 
     /**
@@ -56,20 +76,24 @@ public class SynoApiCameraEvent extends SynoApiRequest<CameraEventResponse> {
      * @throws WebApiException
      */
     public CameraEventResponse getMDParam(String cameraId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        return callApi(METHOD_MOTIONENUM, params);
+        return await(getMDParamAsync(cameraId));
+    }
+
+    /**
+     * Get motion detection parameter asynchronously
+     *
+     * @param cameraId
+     * @return
+     */
+    public CompletableFuture<CameraEventResponse> getMDParamAsync(String cameraId) {
+        return callApiAsync(motionEnumTemplate, "camId", cameraId);
     }
 
     public SimpleResponse setSource(String cameraId, String source) throws WebApiException {
         if (!(source.equals("-1") || source.equals("0") || source.equals("1"))) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("source", source);
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "source", source);
     }
 
     // Warning, absolute values are used
@@ -77,54 +101,34 @@ public class SynoApiCameraEvent extends SynoApiRequest<CameraEventResponse> {
         if (val < 1 || val > 99) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("sensitivity", String.valueOf(val));
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "sensitivity", String.valueOf(val));
     }
 
     public SimpleResponse setThreshold(String cameraId, int val) throws WebApiException {
         if (val < 1 || val > 99) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("threshold", String.valueOf(val));
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "threshold", String.valueOf(val));
     }
 
     public SimpleResponse setObjectSize(String cameraId, int val) throws WebApiException {
         if (val < 1 || val > 99) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("objectSize", String.valueOf(val));
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "objectSize", String.valueOf(val));
     }
 
     public SimpleResponse setPercentage(String cameraId, int val) throws WebApiException {
         if (val < 1 || val > 99) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("percentage", String.valueOf(val));
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "percentage", String.valueOf(val));
     }
 
     public SimpleResponse setShortLiveSecond(String cameraId, int val) throws WebApiException {
         if (val < 0 || val > 10) {
             return new SimpleResponse("{\"data\":{},\"success\":false}");
         }
-        Map<String, String> params = new HashMap<>();
-        params.put("camId", cameraId);
-        params.put("keep", "true");
-        params.put("shortLiveSecond", String.valueOf(val));
-        return callApi(METHOD_MDPARAMSAVE, params);
+        return callApi(mdParamSaveTemplate, "camId", cameraId, "shortLiveSecond", String.valueOf(val));
     }
 }
@@ -12,16 +12,18 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
-import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoEvent;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.EventResponse;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseScanner;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseScanner.Envelope;
 
 /**
  * SYNO.SurveillanceStation.SynoApiEvent
@@ -37,37 +39,76 @@ public class SynoApiEvent extends SynoApiRequest<EventResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.Event";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_05, API_SCRIPT_ENTRY);
 
+    // events per page of a station-wide poll
+    public static final int PAGE_SIZE = 100;
+
+    // API templates
+    private final SynoApiRequestTemplate listTemplate = new SynoApiRequestTemplate(METHOD_LIST, "blIncludeSnapshot",
+            API_FALSE, "limit", String.valueOf(PAGE_SIZE));
+
     /**
      * @param config
      */
-    public SynoApiEvent(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiEvent(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, EventResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_LIST.equals(method);
+    }
+
+    @Override
+    protected boolean isHedged(String method) {
+        return METHOD_LIST.equals(method);
+    }
+
+    @Override
+    protected @Nullable EventResponse readEmptyResponse(byte[] content, Envelope envelope) {
+        // a poll without new events only provides the timestamp of the next poll
+        Long total = SynoApiResponseScanner.getNumberMember(content, envelope, "total");
+        if ((total == null || total != 0) && !SynoApiResponseScanner.isEmptyMember(content, envelope, "events")) {
+            return null;
+        }
+        Long timestamp = SynoApiResponseScanner.getNumberMember(content, envelope, "timestamp");
+        if (timestamp == null) {
+            return null;
+        }
+        return EventResponse.empty(timestamp, total == null ? 0 : total.intValue());
     }
 
     /**
-     * Get API events
+     * Get API events of several cameras
      *
+     * @param cameraIds
+     * @param lastEventTime
+     * @param reasons event reasons
+     * @param offset offset of the page
      * @return
      * @throws WebApiException
      */
-    public EventResponse getEventResponse(String cameraId, long lastEventTime, Map<String, SynoEvent> events) {
-        Map<String, String> params = new HashMap<>();
-
-        params.put("cameraIds", cameraId);
-        params.put("fromTime", String.valueOf(lastEventTime));
-        params.put("blIncludeSnapshot", API_FALSE);
-        params.put("limit", "25");
+    public EventResponse getEventResponse(Collection<String> cameraIds, long lastEventTime,
+            Collection<Integer> reasons, int offset) throws WebApiException {
+        return await(getEventResponseAsync(cameraIds, lastEventTime, reasons, offset));
+    }
 
-        StringJoiner reasons = new StringJoiner(",");
-        for (SynoEvent event : events.values()) {
-            reasons.add(String.valueOf(event.getReason()));
+    /**
+     * Get a page of API events of several cameras asynchronously, latest events first.
+     *
+     * @param cameraIds
+     * @param lastEventTime
+     * @param reasons event reasons
+     * @param offset offset of the page
+     * @return future failing with WebApiException on transport errors, timeouts or an open circuit
+     */
+    public CompletableFuture<EventResponse> getEventResponseAsync(Collection<String> cameraIds, long lastEventTime,
+            Collection<Integer> reasons, int offset) {
+        StringJoiner reasonList = new StringJoiner(",");
+        for (int reason : reasons) {
+            reasonList.add(String.valueOf(reason));
         }
-        params.put("reason", reasons.toString());
 
-        try {
-            return callApi(METHOD_LIST, params);
-        } catch (WebApiException e) {
-            return new EventResponse("{\"data\":{},\"success\":false}");
-        }
+        return callApiAsync(listTemplate, "cameraIds", String.join(",", cameraIds), "fromTime",
+                String.valueOf(lastEventTime), "reason", reasonList.toString(), "offset", String.valueOf(offset));
     }
 }
@@ -12,12 +12,10 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.CameraResponse;
 import org.slf4j.Logger;
@@ -39,11 +37,14 @@ public class SynoApiExternalEvent extends SynoApiRequest<CameraResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.ExternalEvent";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_01, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate triggerTemplate = new SynoApiRequestTemplate(METHOD_TRIGGER);
+
     /**
      * @param config
      */
-    public SynoApiExternalEvent(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiExternalEvent(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, CameraResponse::new);
     }
 
     /**
@@ -54,11 +55,7 @@ public class SynoApiExternalEvent extends SynoApiRequest<CameraResponse> {
      * @throws WebApiException
      */
     public boolean triggerEvent(int event) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API parameters
-        params.put("eventId", String.valueOf(event));
-        return callApi(METHOD_TRIGGER, params).isSuccess();
+        return callApi(triggerTemplate, "eventId", String.valueOf(event)).isSuccess();
     }
 
 }
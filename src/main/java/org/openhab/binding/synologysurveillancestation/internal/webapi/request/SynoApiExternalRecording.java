@@ -12,12 +12,10 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
 
@@ -39,28 +37,26 @@ public class SynoApiExternalRecording extends SynoApiRequest<SimpleResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.ExternalRecording";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_02, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate recordTemplate = new SynoApiRequestTemplate(METHOD_RECORD);
+
     /**
      * @param config
      */
-    public SynoApiExternalRecording(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiExternalRecording(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, SimpleResponse::new);
     }
 
     /**
-     * @param method
+     * @param template
      * @param cameraId
      * @param action
      * @return
      * @throws WebApiException
      */
-    private SimpleResponse call(String method, String cameraId, String action) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API parameters
-        params.put("cameraId", cameraId);
-        params.put("action", action);
-
-        return callApi(method, params);
+    private SimpleResponse call(SynoApiRequestTemplate template, String cameraId, String action)
+            throws WebApiException {
+        return callApi(template, "cameraId", cameraId, "action", action);
     }
 
     /**
@@ -71,7 +67,7 @@ public class SynoApiExternalRecording extends SynoApiRequest<SimpleResponse> {
      * @throws WebApiException
      */
     public SimpleResponse toggleRecording(String cameraId, boolean on) throws WebApiException {
-        return call(METHOD_RECORD, cameraId, on ? "start" : "stop");
+        return call(recordTemplate, cameraId, on ? "start" : "stop");
     }
 
 }
@@ -12,12 +12,11 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.HomeModeResponse;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
@@ -34,11 +33,20 @@ public class SynoApiHomeMode extends SynoApiRequest<HomeModeResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.HomeMode";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_01, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate infoTemplate = new SynoApiRequestTemplate(METHOD_GETINFO);
+    private final SynoApiRequestTemplate switchTemplate = new SynoApiRequestTemplate(METHOD_SWITCH);
+
     /**
      * @param config
      */
-    public SynoApiHomeMode(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiHomeMode(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, HomeModeResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_GETINFO.equals(method);
     }
 
     /**
@@ -47,13 +55,17 @@ public class SynoApiHomeMode extends SynoApiRequest<HomeModeResponse> {
      * @return
      * @throws WebApiException
      */
-    public HomeModeResponse getHomeModeResponse() {
-        try {
-            Map<String, String> params = new HashMap<>();
-            return callApi(METHOD_GETINFO, params);
-        } catch (WebApiException e) {
-            return new HomeModeResponse("{\"data\":{},\"success\":false}");
-        }
+    public HomeModeResponse getHomeModeResponse() throws WebApiException {
+        return await(getHomeModeResponseAsync());
+    }
+
+    /**
+     * Get Home Mode state asynchronously
+     *
+     * @return future failing with WebApiException on transport errors, timeouts or an open circuit
+     */
+    public CompletableFuture<HomeModeResponse> getHomeModeResponseAsync() {
+        return callApiAsync(infoTemplate);
     }
 
     /**
@@ -63,8 +75,6 @@ public class SynoApiHomeMode extends SynoApiRequest<HomeModeResponse> {
      * @throws WebApiException
      */
     public SimpleResponse setHomeMode(boolean mode) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-        params.put("on", mode ? "true" : "false");
-        return callApi(METHOD_SWITCH, params);
+        return callApi(switchTemplate, "on", mode ? "true" : "false");
     }
 }
@@ -13,8 +13,9 @@
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiPriority;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.error.WebApiAuthErrorCodes;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.InfoResponse;
@@ -38,11 +39,29 @@ public class SynoApiInfo extends SynoApiRequest<InfoResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.Info";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_05, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate infoTemplate = new SynoApiRequestTemplate(METHOD_GETINFO);
+
     /**
      * @param config
      */
-    public SynoApiInfo(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiInfo(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, InfoResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_GETINFO.equals(method);
+    }
+
+    @Override
+    protected SynoApiPriority getPriority(String method) {
+        return METHOD_GETINFO.equals(method) ? SynoApiPriority.BULK : super.getPriority(method);
+    }
+
+    @Override
+    protected long getCacheTtl(String method) {
+        return METHOD_GETINFO.equals(method) ? 600000 : CACHE_NONE;
     }
 
     /**
@@ -52,7 +71,7 @@ public class SynoApiInfo extends SynoApiRequest<InfoResponse> {
      * @throws WebApiException
      */
     public InfoResponse getInfo() throws WebApiException {
-        InfoResponse response = callApi(METHOD_GETINFO);
+        InfoResponse response = callApi(infoTemplate);
 
         if (!response.isSuccess()) {
             throw new WebApiException(WebApiAuthErrorCodes.getByCode(response.getErrorcode()));
@@ -14,12 +14,12 @@ package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.LiveUriResponse;
 
@@ -37,11 +37,24 @@ public class SynoApiLiveUri extends SynoApiRequest<LiveUriResponse> {
     private static final String API_NAME = "SYNO.SurveillanceStation.Camera";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_09, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate liveViewPathTemplate = new SynoApiRequestTemplate(METHOD_LIVEVIEWPATH);
+
     /**
      * @param config
      */
-    public SynoApiLiveUri(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiLiveUri(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, LiveUriResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_LIVEVIEWPATH.equals(method);
+    }
+
+    @Override
+    protected long getCacheTtl(String method) {
+        return METHOD_LIVEVIEWPATH.equals(method) ? CACHE_SESSION : CACHE_NONE;
     }
 
     /**
@@ -54,10 +67,27 @@ public class SynoApiLiveUri extends SynoApiRequest<LiveUriResponse> {
      *
      */
     public LiveUriResponse getLiveUriResponse(String cameraId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-        params.put("idList", cameraId);
+        return await(getLiveUriResponseAsync(cameraId));
+    }
+
+    /**
+     * Get live URIs of the selected camera's live feed asynchronously
+     *
+     * @param cameraId
+     * @return
+     */
+    public CompletableFuture<LiveUriResponse> getLiveUriResponseAsync(String cameraId) {
+        return callApiAsync(liveViewPathTemplate, "idList", cameraId);
+    }
 
-        return callApi(METHOD_LIVEVIEWPATH, params);
+    /**
+     * Get live URIs of several cameras in one call asynchronously
+     *
+     * @param cameraIds
+     * @return
+     */
+    public CompletableFuture<LiveUriResponse> getLiveUriResponseAsync(Collection<String> cameraIds) {
+        return callApiAsync(liveViewPathTemplate, "idList", String.join(",", cameraIds));
     }
 
 }
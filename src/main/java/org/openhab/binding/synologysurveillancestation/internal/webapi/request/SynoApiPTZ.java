@@ -14,14 +14,14 @@ package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiPriority;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
-import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SimpleResponse;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.PtzResponse;
 
 /**
  * SYNO.SurveillanceStation.SynoApiPTZ
@@ -48,17 +48,40 @@ import org.openhab.binding.synologysurveillancestation.internal.webapi.response.
  * @author Pavion - Contribution
  */
 @NonNullByDefault
-public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
+public class SynoApiPTZ extends SynoApiRequest<PtzResponse> {
 
     // API configuration
     private static final String API_NAME = "SYNO.SurveillanceStation.PTZ";
     private static final SynoApiConfig API_CONFIG = new SynoApiConfig(API_NAME, API_VERSION_03, API_SCRIPT_ENTRY);
 
+    // API templates
+    private final SynoApiRequestTemplate zoomTemplate = new SynoApiRequestTemplate(METHOD_ZOOM);
+    private final SynoApiRequestTemplate moveTemplate = new SynoApiRequestTemplate(METHOD_MOVE);
+    private final SynoApiRequestTemplate listPresetTemplate = new SynoApiRequestTemplate(METHOD_LISTPRESET);
+    private final SynoApiRequestTemplate goPresetTemplate = new SynoApiRequestTemplate(METHOD_GOPRESET);
+    private final SynoApiRequestTemplate listPatrolTemplate = new SynoApiRequestTemplate(METHOD_LISTPATROL);
+    private final SynoApiRequestTemplate runPatrolTemplate = new SynoApiRequestTemplate(METHOD_RUNPATROL);
+
     /**
      * @param config
      */
-    public SynoApiPTZ(SynoConfig config, HttpClient httpClient) {
-        super(API_CONFIG, config, httpClient);
+    public SynoApiPTZ(SynoConfig config, SynoApiDispatcher dispatcher) {
+        super(API_CONFIG, config, dispatcher, PtzResponse::new);
+    }
+
+    @Override
+    protected boolean isReadOnly(String method) {
+        return METHOD_LISTPRESET.equals(method) || METHOD_LISTPATROL.equals(method);
+    }
+
+    @Override
+    protected SynoApiPriority getPriority(String method) {
+        return isReadOnly(method) ? SynoApiPriority.BULK : super.getPriority(method);
+    }
+
+    @Override
+    protected long getCacheTtl(String method) {
+        return isReadOnly(method) ? 300000 : CACHE_NONE;
     }
 
     /**
@@ -113,15 +136,9 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    private SimpleResponse callZoom(String cameraId, String control) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API parameters
-        params.put("cameraId", cameraId);
-        params.put("control", control);
-        // params.put("moveType", "Start");
-
-        return callApi(METHOD_ZOOM, params);
+    private PtzResponse callZoom(String cameraId, String control) throws WebApiException {
+        // "moveType", "Start" not used
+        return callApi(zoomTemplate, "cameraId", cameraId, "control", control);
     }
 
     /**
@@ -133,16 +150,9 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    private SimpleResponse callMove(String cameraId, String direction, int speed) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API Parameters
-        params.put("cameraId", cameraId);
-        params.put("direction", direction);
-        params.put("speed", String.valueOf(speed));
-        // params.put("moveType", "Start");
-
-        return callApi(METHOD_MOVE, params);
+    private PtzResponse callMove(String cameraId, String direction, int speed) throws WebApiException {
+        // "moveType", "Start" not used
+        return callApi(moveTemplate, "cameraId", cameraId, "direction", direction, "speed", String.valueOf(speed));
     }
 
     /**
@@ -152,7 +162,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse zoomOut(String cameraId) throws WebApiException {
+    public PtzResponse zoomOut(String cameraId) throws WebApiException {
         return callZoom(cameraId, "out");
     }
 
@@ -163,7 +173,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse zoomIn(String cameraId) throws WebApiException {
+    public PtzResponse zoomIn(String cameraId) throws WebApiException {
         return callZoom(cameraId, "in");
     }
 
@@ -174,7 +184,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse moveUp(String cameraId) throws WebApiException {
+    public PtzResponse moveUp(String cameraId) throws WebApiException {
         return callMove(cameraId, "up", 1);
     }
 
@@ -185,7 +195,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse moveDown(String cameraId) throws WebApiException {
+    public PtzResponse moveDown(String cameraId) throws WebApiException {
         return callMove(cameraId, "down", 1);
     }
 
@@ -196,7 +206,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse moveLeft(String cameraId) throws WebApiException {
+    public PtzResponse moveLeft(String cameraId) throws WebApiException {
         return callMove(cameraId, "left", 1);
     }
 
@@ -207,7 +217,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse moveRight(String cameraId) throws WebApiException {
+    public PtzResponse moveRight(String cameraId) throws WebApiException {
         return callMove(cameraId, "right", 1);
     }
 
@@ -218,7 +228,7 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse moveHome(String cameraId) throws WebApiException {
+    public PtzResponse moveHome(String cameraId) throws WebApiException {
         return callMove(cameraId, "home", 1);
     }
 
@@ -229,15 +239,18 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse listPresets(String cameraId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API Parameters
-        params.put("cameraId", cameraId);
-
-        SimpleResponse response = callApi(METHOD_LISTPRESET, params);
+    public PtzResponse listPresets(String cameraId) throws WebApiException {
+        return await(listPresetsAsync(cameraId));
+    }
 
-        return response;
+    /**
+     * calls api method 'ListPreset' asynchronously.
+     *
+     * @param cameraId
+     * @return
+     */
+    public CompletableFuture<PtzResponse> listPresetsAsync(String cameraId) {
+        return callApiAsync(listPresetTemplate, "cameraId", cameraId);
     }
 
     /**
@@ -248,18 +261,9 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse goPreset(String cameraId, String presetId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API Parameters
-        params.put("cameraId", cameraId);
-        params.put("presetId", presetId);
-        // params.put("position", ???);
-        // params.put("speed", ???);
-        // params.put("type", ???);
-        // params.put("isPatrol", ???);
-
-        SimpleResponse response = callApi(METHOD_GOPRESET, params);
+    public PtzResponse goPreset(String cameraId, String presetId) throws WebApiException {
+        // "position", "speed", "type" and "isPatrol" not used
+        PtzResponse response = callApi(goPresetTemplate, "cameraId", cameraId, "presetId", presetId);
 
         return response;
     }
@@ -271,15 +275,18 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse listPatrol(String cameraId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API Parameters
-        params.put("cameraId", cameraId);
-
-        SimpleResponse response = callApi(METHOD_LISTPATROL, params);
+    public PtzResponse listPatrol(String cameraId) throws WebApiException {
+        return await(listPatrolAsync(cameraId));
+    }
 
-        return response;
+    /**
+     * calls api method 'ListPatrol' asynchronously.
+     *
+     * @param cameraId
+     * @return
+     */
+    public CompletableFuture<PtzResponse> listPatrolAsync(String cameraId) {
+        return callApiAsync(listPatrolTemplate, "cameraId", cameraId);
     }
 
     /**
@@ -290,14 +297,8 @@ public class SynoApiPTZ extends SynoApiRequest<SimpleResponse> {
      * @return
      * @throws WebApiException
      */
-    public SimpleResponse runPatrol(String cameraId, String patrolId) throws WebApiException {
-        Map<String, String> params = new HashMap<>();
-
-        // API Parameters
-        params.put("cameraId", cameraId);
-        params.put("patrolId", patrolId);
-
-        SimpleResponse response = callApi(METHOD_RUNPATROL, params);
+    public PtzResponse runPatrol(String cameraId, String patrolId) throws WebApiException {
+        PtzResponse response = callApi(runPatrolTemplate, "cameraId", cameraId, "patrolId", patrolId);
 
         return response;
     }
@@ -12,30 +12,60 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.util.URIUtil;
+import org.eclipse.jetty.util.thread.Scheduler;
 import org.openhab.binding.synologysurveillancestation.internal.SynoConfig;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiBatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiDispatcher;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiLatencyTracker;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiParseStatistics;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiPriority;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiResponseCache;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiRetryPolicy;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoApiSingleFlight;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiException;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.WebApiHttpException;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponse;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseFactory;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseScanner;
+import org.openhab.binding.synologysurveillancestation.internal.webapi.response.SynoApiResponseScanner.Envelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+
 /**
  * API request
  *
@@ -51,26 +81,44 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
     protected static final String API_TRUE = Boolean.TRUE.toString();
     protected static final String API_FALSE = Boolean.FALSE.toString();
 
+    // cache TTLs in milliseconds
+    protected static final long CACHE_NONE = 0;
+    protected static final long CACHE_SESSION = SynoApiResponseCache.TTL_SESSION;
+
+    // responses up to this size are read completely and pre-scanned
+    private static final int PRESCAN_SIZE = 1024;
+    // request attribute with the name of the request profile
+    private static final String ATTR_PROFILE = "synology.profile";
+
     private final SynoApiConfig apiConfig;
-    private final HttpClient httpClient;
-    private SynoConfig config;
-    private String sessionId = "";
+    private final SynoApiDispatcher dispatcher;
+    private volatile SynoConfig config;
+    private volatile String sessionId = "";
+    private final AtomicLong templateVersion = new AtomicLong();
+    private volatile @Nullable SynoApiSingleFlight singleFlight;
+    private volatile @Nullable SynoApiResponseCache cache;
 
     final Class<T> typeParameterClass;
+    private final SynoApiResponseFactory<T> responseFactory;
+    // responses without data by envelope key, they are equal for every call
+    private final Map<Integer, T> emptyResponses = new ConcurrentHashMap<>();
 
     /**
      * @param apiConfig
      * @param config
-     * @param sessionId
+     * @param dispatcher
+     * @param responseFactory creates the API response while reading the JSON result, e.g. a constructor reference
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    public SynoApiRequest(SynoApiConfig apiConfig, SynoConfig config, HttpClient httpClient) {
+    public SynoApiRequest(SynoApiConfig apiConfig, SynoConfig config, SynoApiDispatcher dispatcher,
+            SynoApiResponseFactory<T> responseFactory) {
         super();
 
         this.typeParameterClass = ((Class) ((ParameterizedType) getClass().getGenericSuperclass())
                 .getActualTypeArguments()[0]);
+        this.responseFactory = responseFactory;
 
-        this.httpClient = httpClient;
+        this.dispatcher = dispatcher;
         this.apiConfig = apiConfig;
         this.config = config;
     }
@@ -85,6 +133,13 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
         return apiConfig;
     }
 
+    /**
+     * @return
+     */
+    protected SynoApiDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * @return
      */
@@ -97,6 +152,7 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
      */
     public void setConfig(SynoConfig config) {
         this.config = config;
+        templateVersion.incrementAndGet();
     }
 
     /**
@@ -105,6 +161,35 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
      */
     public void setSessionId(String sessionId) {
         this.sessionId = sessionId;
+        templateVersion.incrementAndGet();
+    }
+
+    /**
+     * Sets the single-flight layer for coalescing identical read-only calls
+     *
+     * @param singleFlight
+     */
+    public void setSingleFlight(SynoApiSingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * Sets the response cache of the station
+     *
+     * @param cache
+     */
+    public void setCache(SynoApiResponseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Drops the cached responses of this API, e.g. after a camera was reconfigured
+     */
+    public void invalidateCache() {
+        SynoApiResponseCache responseCache = cache;
+        if (responseCache != null) {
+            responseCache.invalidate(apiConfig.getName());
+        }
     }
 
     /**
@@ -120,8 +205,7 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
      * @return
      */
     protected URI getWebApiUrlBuilder() throws URISyntaxException {
-        StringBuilder sb = URIUtil.newURIBuilder(getConfig().getProtocol(), getConfig().getHost(),
-                Integer.parseInt(getConfig().getPort()));
+        StringBuilder sb = dispatcher.getEndpoints().newURIBuilder(getConfig().getProtocol());
         URI uri = new URI(sb.toString());
         uri = URIUtil.addPath(uri, apiConfig.getScriptpath());
         return uri;
@@ -147,8 +231,340 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
      * @throws WebApiException
      */
     protected T callApi(String method, Map<String, String> params) throws WebApiException {
-        Request request = getWebApiUrl(method, params);
-        return callWebApi(request);
+        return await(callApiAsync(method, params));
+    }
+
+    /**
+     * Calls the method asynchronously.
+     *
+     * @param method
+     * @return future completed with the API response
+     */
+    protected CompletableFuture<T> callApiAsync(String method) {
+        return callApiAsync(method, new HashMap<>());
+    }
+
+    /**
+     * Calls the method with the passed parameters asynchronously.
+     *
+     * @param method
+     * @param params
+     * @return future completed with the API response
+     */
+    protected CompletableFuture<T> callApiAsync(String method, Map<String, String> params) {
+        try {
+            Request request = getWebApiUrl(method, params);
+            return callApiAsync(request, method, params);
+        } catch (WebApiException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Calls the method of the template with the passed variable parameters.
+     *
+     * @param template
+     * @param params variable parameters as key/value pairs
+     * @return
+     * @throws WebApiException
+     */
+    protected T callApi(SynoApiRequestTemplate template, String... params) throws WebApiException {
+        return await(callApiAsync(template, params));
+    }
+
+    /**
+     * Calls the method of the template with the passed variable parameters asynchronously.
+     *
+     * @param template
+     * @param params variable parameters as key/value pairs
+     * @return future completed with the API response
+     */
+    protected CompletableFuture<T> callApiAsync(SynoApiRequestTemplate template, String... params) {
+        try {
+            Request request = getWebApiUrl(template, params);
+            return callApiAsync(request, template.getMethod(), template.getParams(), params);
+        } catch (WebApiException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Sends the request, successful read-only responses are cached according to the TTL of the method.
+     *
+     * @param request
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @return
+     */
+    private CompletableFuture<T> callApiAsync(Request request, String method, Map<String, String> params,
+            String... extraParams) {
+        SynoApiResponseCache responseCache = cache;
+        if (responseCache != null && responseCache.isEnabled()) {
+            if (!isReadOnly(method)) {
+                // writes invalidate the cached responses of this API
+                responseCache.invalidate(apiConfig.getName());
+                return coalesceApiAsync(request, method, params, extraParams)
+                        .whenComplete((r, e) -> responseCache.invalidate(apiConfig.getName()));
+            }
+            long ttl = getCacheTtl(method);
+            if (ttl > 0) {
+                String key = request.getURI().toString();
+                SynoApiResponse cached = responseCache.get(key);
+                if (typeParameterClass.isInstance(cached)) {
+                    return CompletableFuture.completedFuture(typeParameterClass.cast(cached));
+                }
+                return coalesceApiAsync(request, method, params, extraParams).thenApply(response -> {
+                    if (response.isSuccess()) {
+                        responseCache.put(apiConfig.getName(), key, response, ttl);
+                    }
+                    return response;
+                });
+            }
+        }
+        return coalesceApiAsync(request, method, params, extraParams);
+    }
+
+    /**
+     * Sends the request, identical read-only calls in flight are coalesced.
+     *
+     * @param request
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @return
+     */
+    private CompletableFuture<T> coalesceApiAsync(Request request, String method, Map<String, String> params,
+            String... extraParams) {
+        SynoApiSingleFlight flight = singleFlight;
+        if (flight != null && isReadOnly(method)) {
+            return flight.execute(request.getURI().toString(),
+                    () -> retryApiAsync(request, method, params, extraParams));
+        }
+        return retryApiAsync(request, method, params, extraParams);
+    }
+
+    /**
+     * Sends the request, read-only methods are idempotent and retried after transient failures.
+     *
+     * @param request
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @return
+     */
+    private CompletableFuture<T> retryApiAsync(Request request, String method, Map<String, String> params,
+            String... extraParams) {
+        if (!isReadOnly(method)) {
+            return sendApiAsync(request, method, params, extraParams);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptApiAsync(request, method, params, extraParams, 1, System.nanoTime(), result);
+        return result;
+    }
+
+    /**
+     * Sends one attempt of an idempotent call, the next attempt uses a copy of the request.
+     *
+     * @param request
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @param attempt number of this attempt, starting with 1
+     * @param started start of the first attempt (nanoTime)
+     * @param result future completed with the final outcome
+     */
+    private void attemptApiAsync(Request request, String method, Map<String, String> params, String[] extraParams,
+            int attempt, long started, CompletableFuture<T> result) {
+        sendApiAsync(request, method, params, extraParams).whenComplete((response, failure) -> {
+            SynoApiRetryPolicy retryPolicy = dispatcher.getRetryPolicy();
+            long delay = retryPolicy.getRetryDelay(failure, response, attempt, started);
+            if (delay >= 0) {
+                logger.debug("{} failed, retry {} in {} ms", request.getURI(), attempt, delay);
+                // a transport failure may have switched the endpoint
+                URI uri = dispatcher.getEndpoints().route(request.getURI());
+                Request retry = dispatcher.getHttpClient().newRequest(uri);
+                request.getAttributes().forEach(retry::attribute);
+                dispatcher.getHttpClient().getScheduler().schedule(
+                        () -> attemptApiAsync(retry, method, params, extraParams, attempt + 1, started, result), delay,
+                        TimeUnit.MILLISECONDS);
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Sends the request, read-only methods are passed to the batcher. Hedged methods are sent singly while hedging
+     * is enabled.
+     *
+     * @param request
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @return
+     */
+    private CompletableFuture<T> sendApiAsync(Request request, String method, Map<String, String> params,
+            String... extraParams) {
+        SynoApiBatcher batcher = dispatcher.getBatcher();
+        boolean hedged = isHedged(method) && dispatcher.getLatencyTracker().isHedging();
+        Object profile = request.getAttributes().get(ATTR_PROFILE);
+        SynoApiPriority priority = getPriority(method, profile == null ? null : profile.toString());
+        if (isReadOnly(method) && batcher.isEnabled() && !hedged) {
+            logger.debug("{} (batched)", request.getURI());
+            return batcher.submit(request, getSessionId(), getCompoundEntry(method, params, extraParams), priority,
+                    this::readResult, () -> callWebApiAsync(request, method, priority));
+        }
+        return callWebApiAsync(request, method, priority);
+    }
+
+    /**
+     * Returns true if the method only reads data. Read-only calls may be batched and coalesced.
+     *
+     * @param method
+     * @return
+     */
+    protected boolean isReadOnly(String method) {
+        return false;
+    }
+
+    /**
+     * Returns the dispatch priority of a method. Writes are user commands and sent first, reads are polling by
+     * default.
+     *
+     * @param method
+     * @return
+     */
+    protected SynoApiPriority getPriority(String method) {
+        return isReadOnly(method) ? SynoApiPriority.POLLING : SynoApiPriority.INTERACTIVE;
+    }
+
+    /**
+     * Returns the dispatch priority of a method called with a request profile. The priority of the method by
+     * default.
+     *
+     * @param method
+     * @param profile name of the request profile or null if none
+     * @return
+     */
+    protected SynoApiPriority getPriority(String method, @Nullable String profile) {
+        return getPriority(method);
+    }
+
+    /**
+     * Returns true if the method is an idempotent read which may be hedged by a second request.
+     *
+     * @param method
+     * @return
+     */
+    protected boolean isHedged(String method) {
+        return false;
+    }
+
+    /**
+     * Returns the cache TTL of a read-only method in milliseconds, {@link #CACHE_NONE} if not cached or
+     * {@link #CACHE_SESSION} if valid until the session changes.
+     *
+     * @param method
+     * @return
+     */
+    protected long getCacheTtl(String method) {
+        return CACHE_NONE;
+    }
+
+    /**
+     * Builds the compound entry for a batched call.
+     *
+     * @param method
+     * @param params
+     * @param extraParams additional parameters as key/value pairs
+     * @return
+     */
+    private JsonObject getCompoundEntry(String method, Map<String, String> params, String... extraParams) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("api", apiConfig.getName());
+        entry.addProperty("method", method);
+        entry.addProperty("version", apiConfig.getVersion());
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            entry.addProperty(param.getKey(), param.getValue());
+        }
+        for (int i = 0; i + 1 < extraParams.length; i += 2) {
+            entry.addProperty(extraParams[i], extraParams[i + 1]);
+        }
+        return entry;
+    }
+
+    /**
+     * Builds the request from the compiled template, only the variable parameters are encoded per call.
+     *
+     * @param template
+     * @param params variable parameters as key/value pairs
+     * @return
+     * @throws WebApiException
+     */
+    protected Request getWebApiUrl(SynoApiRequestTemplate template, String... params) throws WebApiException {
+        StringBuilder sb = new StringBuilder(compile(template));
+        for (int i = 0; i + 1 < params.length; i += 2) {
+            sb.append('&').append(encode(params[i])).append('=').append(encode(params[i + 1]));
+        }
+        try {
+            Request request = dispatcher.getHttpClient().newRequest(sb.toString());
+            if (!template.getProfile().isEmpty()) {
+                request.attribute(ATTR_PROFILE, template.getProfile());
+            }
+            return request;
+        } catch (IllegalArgumentException e) {
+            throw new WebApiException(e);
+        }
+    }
+
+    /**
+     * Returns the encoded URI of the template for the current configuration and session, compiles it if needed.
+     *
+     * @param template
+     * @return
+     * @throws WebApiException
+     */
+    private String compile(SynoApiRequestTemplate template) throws WebApiException {
+        // read the version first, a concurrent change leaves a stale version and forces a recompile, both counters
+        // only grow so their sum changes with each of them
+        long version = templateVersion.get() + dispatcher.getEndpoints().getGeneration();
+        String uri = template.getUri(version);
+        if (uri == null) {
+            try {
+                StringBuilder sb = new StringBuilder(getWebApiUrlBuilder().toString());
+                sb.append("?api=").append(encode(apiConfig.getName()));
+                sb.append("&version=").append(encode(apiConfig.getVersion()));
+                sb.append("&method=").append(encode(template.getMethod()));
+                sb.append("&_sid=").append(encode(getSessionId()));
+                for (Map.Entry<String, String> param : template.getParams().entrySet()) {
+                    sb.append('&').append(encode(param.getKey())).append('=').append(encode(param.getValue()));
+                }
+                uri = sb.toString();
+                template.setUri(version, uri);
+            } catch (URISyntaxException | NumberFormatException e) {
+                throw new WebApiException(e);
+            }
+        }
+        return uri;
+    }
+
+    /**
+     * @param value
+     * @return URL encoded value
+     */
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            return value;
+        }
     }
 
     /**
@@ -164,7 +580,7 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
         try {
             URI uri = getWebApiUrlBuilder();
 
-            Request request = httpClient.newRequest(uri);
+            Request request = dispatcher.getHttpClient().newRequest(uri);
 
             // API data
             request.param("api", apiConfig.getName());
@@ -190,52 +606,290 @@ public abstract class SynoApiRequest<T extends SynoApiResponse> implements SynoA
     }
 
     /**
-     * E
+     * Sends the request and waits for the API response.
      *
-     * @param apiurl
+     * @param request
      * @return
      * @throws WebApiException
-     * @throws URISyntaxException
-     * @throws UnsupportedOperationException
-     * @throws IOException
      */
-    protected synchronized T callWebApi(Request request) throws WebApiException {
-        try {
-            logger.debug(request.getURI().toString());
-            ContentResponse response = request.send();
-
-            if (response.getStatus() == 200) {
-                byte[] rawResponse = response.getContent();
-                String encoding = response.getEncoding().replaceAll("\"", "").trim();
-                String result = new String(rawResponse, encoding);
-
-                if (result.length() > 0) {
-                    if (result.contains("\"success\":true")) {
-                        logger.debug("RESPONSE: {}", result);
-                    } else {
-                        logger.error("RESPONSE: {}", result);
+    protected T callWebApi(Request request) throws WebApiException {
+        return await(callWebApiAsync(request, SynoApiPriority.INTERACTIVE));
+    }
+
+    /**
+     * Sends the request asynchronously, the API response is read while the content arrives.
+     *
+     * @param request
+     * @param priority
+     * @return future completed with the API response
+     */
+    protected CompletableFuture<T> callWebApiAsync(Request request, SynoApiPriority priority) {
+        logger.debug(request.getURI().toString());
+        String payloadKey = apiConfig.getName();
+        return dispatcher.sendStreamingAsync(request, priority, null,
+                (content, charset) -> readResponse(content, charset, payloadKey));
+    }
+
+    /**
+     * Sends the request of a method asynchronously, the API response is read while the content arrives.
+     *
+     * @param request
+     * @param method
+     * @param priority
+     * @return future completed with the API response
+     */
+    private CompletableFuture<T> callWebApiAsync(Request request, String method, SynoApiPriority priority) {
+        logger.debug(request.getURI().toString());
+        String key = getLatencyKey(method);
+        String payloadKey = getPayloadKey(request, method);
+        return hedgeAsync(request, method, r -> dispatcher.sendStreamingAsync(r, priority, key,
+                (content, charset) -> readResponse(content, charset, payloadKey)));
+    }
+
+    /**
+     * Sends the request of a method with a timeout derived from the latency of the method, see
+     * {@link #hedgeAsync}.
+     *
+     * @param request
+     * @param method
+     * @param priority
+     * @return future completed with the buffered response
+     */
+    protected CompletableFuture<ContentResponse> sendWebApiAsync(Request request, String method,
+            SynoApiPriority priority) {
+        String key = getLatencyKey(method);
+        return hedgeAsync(request, method, r -> dispatcher.sendAsync(r, priority, key));
+    }
+
+    private String getLatencyKey(String method) {
+        return apiConfig.getName() + "." + method;
+    }
+
+    /**
+     * @param request
+     * @param method
+     * @return key of the payload statistics, the API method and the request profile if any
+     */
+    private String getPayloadKey(Request request, String method) {
+        Object profile = request.getAttributes().get(ATTR_PROFILE);
+        return profile == null ? getLatencyKey(method) : getLatencyKey(method) + "[" + profile + "]";
+    }
+
+    /**
+     * Sends the request of a method. Hedged methods get a second request once the 95th percentile of the method's
+     * latency is exceeded, the first response wins and the other request is aborted.
+     *
+     * @param request
+     * @param method
+     * @param sender sends a request through the dispatcher
+     * @return future completed with the first result
+     */
+    private <R> CompletableFuture<R> hedgeAsync(Request request, String method,
+            Function<Request, CompletableFuture<R>> sender) {
+        SynoApiLatencyTracker tracker = dispatcher.getLatencyTracker();
+        CompletableFuture<R> first = sender.apply(request);
+        long delay = isHedged(method) ? tracker.getHedgeDelay(getLatencyKey(method)) : -1;
+        if (delay < 0) {
+            return first;
+        }
+
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicReference<@Nullable Request> hedge = new AtomicReference<>();
+        AtomicInteger failures = new AtomicInteger();
+        Scheduler.Task task = dispatcher.getHttpClient().getScheduler().schedule(() -> {
+            Request copy = dispatcher.getHttpClient().newRequest(dispatcher.getEndpoints().route(request.getURI()));
+            synchronized (result) {
+                if (first.isDone()) {
+                    return;
+                }
+                hedge.set(copy);
+            }
+            tracker.hedgeSent();
+            sender.apply(copy).whenComplete((response, failure) -> {
+                if (failure == null) {
+                    if (result.complete(response)) {
+                        tracker.hedgeWon();
+                        request.abort(new CancellationException("Hedged request answered first"));
                     }
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(failure);
+                }
+            });
+        }, delay, TimeUnit.MILLISECONDS);
+
+        first.whenComplete((response, failure) -> {
+            task.cancel();
+            boolean hedging;
+            synchronized (result) {
+                hedging = hedge.get() != null;
+            }
+            if (failure == null) {
+                Request copy = hedge.get();
+                if (result.complete(response) && copy != null) {
+                    copy.abort(new CancellationException("First request answered"));
+                }
+            } else if (!hedging || failures.incrementAndGet() == 2) {
+                // without hedge, or both requests failed
+                result.completeExceptionally(failure);
+            }
+        });
+        return result;
+    }
 
+    /**
+     * Reads the API response from the streamed response content. Small responses are pre-scanned first, responses
+     * without data, e.g. errors, are shared instead of being parsed again.
+     *
+     * @param content
+     * @param charset
+     * @param payloadKey key of the payload statistics
+     * @return
+     * @throws IOException
+     */
+    private T readResponse(InputStream content, Charset charset, String payloadKey) throws IOException {
+        SynoApiParseStatistics statistics = dispatcher.getParseStatistics();
+        byte[] head = new byte[PRESCAN_SIZE];
+        int length = readFully(content, head);
+        long start = System.nanoTime();
+        T response;
+        if (length < PRESCAN_SIZE) {
+            statistics.received(payloadKey, length);
+            Envelope envelope = SynoApiResponseScanner.scan(head, 0, length);
+            boolean empty = envelope != null && envelope.isEmpty();
+            if (envelope != null && empty) {
+                T shared = emptyResponses.get(envelope.getKey());
+                if (shared != null) {
+                    statistics.shortCircuited();
+                    logResponse(shared);
+                    return shared;
                 }
+            }
+            T unchanged = envelope != null && !empty && envelope.isSuccess() ? readEmptyResponse(head, envelope)
+                    : null;
+            if (unchanged != null) {
+                statistics.shortCircuited();
+                logResponse(unchanged);
+                return unchanged;
+            }
+            Reader reader = envelope != null && envelope.isAscii() && SynoApiResponseScanner.isAsciiCompatible(charset)
+                    ? SynoApiResponseScanner.newAsciiReader(head, 0, length)
+                    : new InputStreamReader(new ByteArrayInputStream(head, 0, length), charset);
+            response = responseFactory.create(new JsonReader(reader));
+            statistics.parsed(System.nanoTime() - start, true);
+            if (envelope != null && empty && response.isSuccess() == envelope.isSuccess()) {
+                emptyResponses.putIfAbsent(envelope.getKey(), response);
+            }
+        } else {
+            // not closed, the dispatcher consumes the rest of the content
+            CountingInputStream stream = new CountingInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(head), content));
+            response = responseFactory.create(new JsonReader(new InputStreamReader(stream, charset)));
+            statistics.parsed(System.nanoTime() - start, false);
+            statistics.received(payloadKey, stream.count);
+        }
+        logResponse(response);
+        return response;
+    }
+
+    /**
+     * Creates the response of a successful call whose data is empty for this API, e.g. a list without entries,
+     * directly from the pre-scanned content. Such responses still carry data like a timestamp and can't be shared.
+     *
+     * @param content the complete response
+     * @param envelope envelope of the response
+     * @return response or null to parse the content
+     */
+    protected @Nullable T readEmptyResponse(byte[] content, Envelope envelope) {
+        return null;
+    }
 
-                Constructor<T> ctor = typeParameterClass.getConstructor(String.class);
+    /**
+     * Reads until the buffer is full or the content ends.
+     *
+     * @param content
+     * @param buffer
+     * @return number of bytes read
+     * @throws IOException
+     */
+    private static int readFully(InputStream content, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = content.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
 
-                T vo = ctor.newInstance(new Object[] { result });
+    /**
+     * Reads the API response of a call from its result within a compound response.
+     *
+     * @param reader
+     * @return
+     * @throws IOException
+     */
+    private T readResult(JsonReader reader) throws IOException {
+        T response = responseFactory.create(reader);
+        logResponse(response);
+        return response;
+    }
 
-                return vo;
+    /**
+     * Counts the bytes read from the response content
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
 
-            } else {
-                throw new WebApiException("Error calling Surveillance Station WebApi!");
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
             }
+            return b;
+        }
 
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException | ExecutionException | TimeoutException
-                | InterruptedException e) {
-            throw new WebApiException(e);
-        } catch (UnsupportedEncodingException ee) {
-            throw new WebApiException(ee);
+        @Override
+        public int read(byte @Nullable [] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
         }
+    }
+
+    private void logResponse(T response) {
+        if (response.isSuccess()) {
+            logger.debug("RESPONSE: {}", response);
+        } else {
+            logger.error("RESPONSE: {}", response);
+        }
+    }
 
+    /**
+     * Waits for an asynchronous call and rethrows its failure as WebApiException.
+     *
+     * @param future
+     * @return
+     * @throws WebApiException
+     */
+    protected static <R> R await(CompletableFuture<R> future) throws WebApiException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw WebApiException.unwrap(e);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new WebApiException(e);
+        }
     }
 
 }
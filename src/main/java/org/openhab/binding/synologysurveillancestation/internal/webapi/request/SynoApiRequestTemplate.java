@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.request;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Request template of an API method with its constant parameters. The template is compiled once per configuration
+ * and session into an encoded URI, calls only append their variable parameters.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class SynoApiRequestTemplate {
+
+    private final String method;
+    private final Map<String, String> params;
+    private final String profile;
+    private volatile @Nullable Compiled compiled;
+
+    /**
+     * Compiled URI and the configuration version it was built for
+     */
+    private static class Compiled {
+        private final long version;
+        private final String uri;
+
+        private Compiled(long version, String uri) {
+            this.version = version;
+            this.uri = uri;
+        }
+    }
+
+    /**
+     * @param method API method
+     * @param params constant parameters as key/value pairs
+     */
+    public SynoApiRequestTemplate(String method, String... params) {
+        this(method, params, "");
+    }
+
+    /**
+     * @param method API method
+     * @param params constant parameters as key/value pairs
+     * @param profile name of the request profile, shown in the statistics
+     */
+    public SynoApiRequestTemplate(String method, String[] params, String profile) {
+        this.method = method;
+        this.profile = profile;
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < params.length; i += 2) {
+            map.put(params[i], params[i + 1]);
+        }
+        this.params = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @return API method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return name of the request profile or an empty string
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return constant parameters
+     */
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * @param version configuration version
+     * @return compiled URI or null if not compiled for this version
+     */
+    @Nullable
+    String getUri(long version) {
+        Compiled c = compiled;
+        return c != null && c.version == version ? c.uri : null;
+    }
+
+    /**
+     * @param version configuration version
+     * @param uri compiled URI
+     */
+    void setUri(long version, String uri) {
+        compiled = new Compiled(version, uri);
+    }
+}
@@ -12,9 +12,13 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.synologysurveillancestation.internal.thread.SynoApiThread;
 
+import com.google.gson.stream.JsonReader;
+
 /**
  * {@link SynoApiThread} handles authentication response
  *
@@ -31,6 +35,14 @@ public class AuthResponse extends SimpleResponse {
         super(jsonResponse);
     }
 
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public AuthResponse(JsonReader reader) throws IOException {
+        super(reader);
+    }
+
     /**
      * @return Session ID
      */
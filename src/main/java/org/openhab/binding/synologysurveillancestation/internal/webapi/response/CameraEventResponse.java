@@ -12,9 +12,13 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 
 /**
  * {@link CameraEventResponse} is a response for camera information
@@ -24,29 +28,32 @@ import com.google.gson.JsonObject;
 @NonNullByDefault
 public class CameraEventResponse extends SimpleResponse {
 
+    private static final TypeAdapter<@Nullable MotionDetectionParam> ADAPTER = SynoApiTypeAdapters
+            .member(MotionDetectionParam.class, "MDParam");
+
     /**
      * @param jsonResponse
      */
     public CameraEventResponse(String jsonResponse) {
-        super(jsonResponse);
+        super(jsonResponse, ADAPTER);
     }
 
     /**
-     * Returns motion detection parameter as Json Object
-     *
-     * @return Motion detection parameter as Json Object
+     * @param reader
+     * @throws IOException
      */
-    private JsonObject getMDParam() {
-        return getData().getAsJsonObject("MDParam");
+    public CameraEventResponse(JsonReader reader) throws IOException {
+        super(reader, ADAPTER);
     }
 
     /**
-     * What is it?
+     * Returns motion detection parameter
      *
-     * @return
+     * @return Motion detection parameter
      */
-    private JsonObject getPDParam() {
-        return getData().getAsJsonObject("PDParam");
+    public MotionDetectionParam getMDParam() {
+        MotionDetectionParam param = getData(MotionDetectionParam.class);
+        return param == null ? new MotionDetectionParam() : param;
     }
 
     /**
@@ -55,7 +62,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getObjectSize() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("objectSize"));
+        return getMDParam().getObjectSize();
     }
 
     /**
@@ -64,7 +71,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getSensitivity() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("sensitivity"));
+        return getMDParam().getSensitivity();
     }
 
     /**
@@ -73,7 +80,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getThreshold() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("threshold"));
+        return getMDParam().getThreshold();
     }
 
     /**
@@ -82,7 +89,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getHistory() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("history"));
+        return getMDParam().getHistory();
     }
 
     /**
@@ -91,7 +98,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getShortLiveSecond() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("shortLiveSecond"));
+        return getMDParam().getShortLiveSecond();
     }
 
     /**
@@ -100,7 +107,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public CameraEventResponseObject getPercentage() {
-        return new CameraEventResponseObject(getMDParam().getAsJsonObject("percentage"));
+        return getMDParam().getPercentage();
     }
 
     /**
@@ -109,7 +116,7 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public String getSource() {
-        return getMDParam().get("source").getAsString();
+        return getMDParam().getSource();
     }
 
     /**
@@ -118,6 +125,6 @@ public class CameraEventResponse extends SimpleResponse {
      * @return
      */
     public boolean getKeep() {
-        return getMDParam().get("keep").getAsBoolean();
+        return getMDParam().isKeep();
     }
 }
@@ -30,6 +30,12 @@ public class CameraEventResponseObject {
     private int minValue = 0;
     private int maxValue = 99;
 
+    /**
+     * Constructor with default values
+     */
+    public CameraEventResponseObject() {
+    }
+
     /**
      * Constructor
      *
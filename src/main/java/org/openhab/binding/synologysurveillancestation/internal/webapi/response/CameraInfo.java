@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link CameraInfo} is the immutable record of one camera of a camera response
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public final class CameraInfo {
+    private final String id;
+    private final String name;
+    private final boolean enabled;
+    private final int recStatus;
+    private final int ptzCap;
+    private final String vendor;
+    private final String model;
+    private final String deviceType;
+    private final String host;
+    private final String resolution;
+    private final String type;
+    private final List<StreamInfo> streams;
+
+    /**
+     * Collects the members of a camera while it is read
+     */
+    static class Builder {
+        String id = "";
+        String name = "";
+        boolean enabled = false;
+        int recStatus = 0;
+        int ptzCap = 0;
+        String vendor = "";
+        String model = "";
+        String deviceType = "";
+        String host = "";
+        String resolution = "";
+        String type = "";
+        List<StreamInfo> streams = Collections.emptyList();
+
+        CameraInfo build() {
+            return new CameraInfo(this);
+        }
+    }
+
+    private CameraInfo(Builder builder) {
+        this.id = builder.id;
+        this.name = builder.name;
+        this.enabled = builder.enabled;
+        this.recStatus = builder.recStatus;
+        this.ptzCap = builder.ptzCap;
+        this.vendor = builder.vendor;
+        this.model = builder.model;
+        this.deviceType = builder.deviceType;
+        this.host = builder.host;
+        this.resolution = builder.resolution;
+        this.type = builder.type;
+        this.streams = Collections.unmodifiableList(builder.streams);
+    }
+
+    /**
+     * @return the camera ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the camera name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the camera is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the recording status, 0 if not recording
+     */
+    public int getRecStatus() {
+        return recStatus;
+    }
+
+    /**
+     * @return true if the camera is recording
+     */
+    public boolean isRecording() {
+        return recStatus > 0;
+    }
+
+    /**
+     * @return the PTZ capability bits
+     */
+    public int getPtzCap() {
+        return ptzCap;
+    }
+
+    /**
+     * @param bit number of the capability bit
+     * @return true if the PTZ capability is supported
+     */
+    public boolean hasPtzCap(int bit) {
+        return (ptzCap & (1 << bit)) != 0;
+    }
+
+    /**
+     * @return the vendor
+     */
+    public String getVendor() {
+        return vendor;
+    }
+
+    /**
+     * @return the model
+     */
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * @return the device type
+     */
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    /**
+     * @return the host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the resolution
+     */
+    public String getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return the camera type
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the streams of the camera, empty unless requested with stream info
+     */
+    public List<StreamInfo> getStreams() {
+        return streams;
+    }
+}
@@ -14,15 +14,19 @@ package org.openhab.binding.synologysurveillancestation.internal.webapi.response
 
 import static org.openhab.binding.synologysurveillancestation.SynoBindingConstants.DEVICE_ID;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 
 /**
  * {@link CameraResponse} is a response for camera information
@@ -55,16 +59,64 @@ public class CameraResponse extends SimpleResponse {
     // 0x200: Zoom speed
     private static final int BIT_PTZ_ZOOM_SPEED = 10;
 
+    private static final TypeAdapter<List<CameraInfo>> ADAPTER = SynoApiTypeAdapters.listMember(CameraInfo.class,
+            "cameras");
+
+    private Map<String, CameraInfo> cameras = Collections.emptyMap();
+
     /**
      * @param jsonResponse
      */
     public CameraResponse(String jsonResponse) {
-        super(jsonResponse);
+        super(jsonResponse, ADAPTER);
+        index();
+    }
+
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public CameraResponse(JsonReader reader) throws IOException {
+        super(reader, ADAPTER);
+        index();
+    }
+
+    /**
+     * Indexes the cameras by ID once, so every camera handler finds its camera in constant time
+     */
+    @SuppressWarnings("unchecked")
+    private void index() {
+        List<CameraInfo> list = getData(List.class);
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        Map<String, CameraInfo> index = new LinkedHashMap<>(list.size() * 4 / 3 + 1);
+        for (CameraInfo camera : list) {
+            index.putIfAbsent(camera.getId(), camera);
+        }
+        cameras = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @return cameras of the response
+     */
+    public Collection<CameraInfo> getCameras() {
+        return cameras.values();
+    }
+
+    /**
+     * @return IDs of the cameras of the response
+     */
+    public Set<String> getCameraIds() {
+        return cameras.keySet();
     }
 
-    @Nullable
-    public JsonArray getCameras() {
-        return getData().getAsJsonArray("cameras");
+    /**
+     * @param cameraId
+     * @return the camera or null if not part of the response
+     */
+    public @Nullable CameraInfo getCamera(String cameraId) {
+        return cameras.get(cameraId);
     }
 
     /**
@@ -73,15 +125,8 @@ public class CameraResponse extends SimpleResponse {
      * @param cameraId
      */
     public boolean isEnabled(String cameraId) {
-        for (JsonElement jcamera : getCameras()) {
-            if (jcamera.isJsonObject()) {
-                JsonObject camera = jcamera.getAsJsonObject();
-                if (camera.get("id").getAsString().equals(cameraId)) {
-                    return camera.get("enabled").getAsBoolean();
-                }
-            }
-        }
-        return false;
+        CameraInfo camera = getCamera(cameraId);
+        return camera != null && camera.isEnabled();
     }
 
     /**
@@ -90,15 +135,8 @@ public class CameraResponse extends SimpleResponse {
      * @param cameraId
      */
     public boolean isRecording(String cameraId) {
-        for (JsonElement jcamera : getCameras()) {
-            if (jcamera.isJsonObject()) {
-                JsonObject camera = jcamera.getAsJsonObject();
-                if (camera.get("id").getAsString().equals(cameraId)) {
-                    return (camera.get("recStatus").getAsInt() > 0);
-                }
-            }
-        }
-        return false;
+        CameraInfo camera = getCamera(cameraId);
+        return camera != null && camera.isRecording();
     }
 
     /**
@@ -108,20 +146,8 @@ public class CameraResponse extends SimpleResponse {
      * @return
      */
     public Map<String, Object> getCameraProperties(String cameraId) {
-        JsonArray cameras = this.getCameras().getAsJsonArray();
-
-        for (JsonElement camera : cameras) {
-            if (camera.isJsonObject()) {
-                JsonObject cam = camera.getAsJsonObject();
-
-                String id = cam.get("id").getAsString();
-
-                if (cameraId.equals(id)) {
-                    return createProperties(cam, cameraId);
-                }
-            }
-        }
-        return new LinkedHashMap<>();
+        CameraInfo camera = getCamera(cameraId);
+        return camera == null ? new LinkedHashMap<>() : createProperties(camera, cameraId);
     }
 
     /**
@@ -131,44 +157,33 @@ public class CameraResponse extends SimpleResponse {
      * @param cameraId
      * @return
      */
-    private Map<String, Object> createProperties(JsonObject cam, String cameraId) {
+    private Map<String, Object> createProperties(CameraInfo cam, String cameraId) {
         Map<String, Object> properties = new LinkedHashMap<>();
-
         properties.put(DEVICE_ID, cameraId);
-        properties.put(SynoApiResponse.PROP_VENDOR, cam.get(SynoApiResponse.PROP_VENDOR).getAsString());
-        properties.put(SynoApiResponse.PROP_MODEL, cam.get(SynoApiResponse.PROP_MODEL).getAsString());
-        properties.put(SynoApiResponse.PROP_DEVICETYPE, cam.get(SynoApiResponse.PROP_DEVICETYPE).getAsString());
-        properties.put(SynoApiResponse.PROP_HOST, cam.get(SynoApiResponse.PROP_HOST).getAsString());
-        properties.put(SynoApiResponse.PROP_RESOLUTION, cam.get(SynoApiResponse.PROP_RESOLUTION).getAsString());
-        properties.put(SynoApiResponse.PROP_TYPE, cam.get(SynoApiResponse.PROP_TYPE).getAsString());
+        properties.put(SynoApiResponse.PROP_VENDOR, cam.getVendor());
+        properties.put(SynoApiResponse.PROP_MODEL, cam.getModel());
+        properties.put(SynoApiResponse.PROP_DEVICETYPE, cam.getDeviceType());
+        properties.put(SynoApiResponse.PROP_HOST, cam.getHost());
+        properties.put(SynoApiResponse.PROP_RESOLUTION, cam.getResolution());
+        properties.put(SynoApiResponse.PROP_TYPE, cam.getType());
 
         // check PTZ capabilities
-        int ptzCap = cam.get("ptzCap").getAsInt();
+        int ptzCap = cam.getPtzCap();
         properties.put(SynoApiResponse.PROP_PTZ, (ptzCap > 0) ? "true" : "false");
 
         if (ptzCap > 0) {
-            properties.put(SynoApiResponse.PROP_PTZ_PAN, isBitSetAsString(ptzCap, BIT_PTZ_PAN));
-            properties.put(SynoApiResponse.PROP_PTZ_TILT, isBitSetAsString(ptzCap, BIT_PTZ_TILT));
-            properties.put(SynoApiResponse.PROP_PTZ_ZOOM, isBitSetAsString(ptzCap, BIT_PTZ_ZOOM));
-            properties.put(SynoApiResponse.PROP_PTZ_HOME, isBitSetAsString(ptzCap, BIT_PTZ_HOME));
-            properties.put(SynoApiResponse.PROP_PTZ_ABS, isBitSetAsString(ptzCap, BIT_PTZ_ABS));
-            properties.put(SynoApiResponse.PROP_PTZ_FOCUS, isBitSetAsString(ptzCap, BIT_PTZ_FOCUS));
-            properties.put(SynoApiResponse.PROP_PTZ_AUTOFOCUS, isBitSetAsString(ptzCap, BIT_PTZ_AUTOFOCUS));
-            properties.put(SynoApiResponse.PROP_PTZ_IRIS, isBitSetAsString(ptzCap, BIT_PTZ_IRIS));
-            properties.put(SynoApiResponse.PROP_PTZ_SPEED, isBitSetAsString(ptzCap, BIT_PTZ_SPEED));
-            properties.put(SynoApiResponse.PROP_PTZ_ZOOM_SPEED, isBitSetAsString(ptzCap, BIT_PTZ_ZOOM_SPEED));
+            properties.put(SynoApiResponse.PROP_PTZ_PAN, Boolean.toString(cam.hasPtzCap(BIT_PTZ_PAN)));
+            properties.put(SynoApiResponse.PROP_PTZ_TILT, Boolean.toString(cam.hasPtzCap(BIT_PTZ_TILT)));
+            properties.put(SynoApiResponse.PROP_PTZ_ZOOM, Boolean.toString(cam.hasPtzCap(BIT_PTZ_ZOOM)));
+            properties.put(SynoApiResponse.PROP_PTZ_HOME, Boolean.toString(cam.hasPtzCap(BIT_PTZ_HOME)));
+            properties.put(SynoApiResponse.PROP_PTZ_ABS, Boolean.toString(cam.hasPtzCap(BIT_PTZ_ABS)));
+            properties.put(SynoApiResponse.PROP_PTZ_FOCUS, Boolean.toString(cam.hasPtzCap(BIT_PTZ_FOCUS)));
+            properties.put(SynoApiResponse.PROP_PTZ_AUTOFOCUS, Boolean.toString(cam.hasPtzCap(BIT_PTZ_AUTOFOCUS)));
+            properties.put(SynoApiResponse.PROP_PTZ_IRIS, Boolean.toString(cam.hasPtzCap(BIT_PTZ_IRIS)));
+            properties.put(SynoApiResponse.PROP_PTZ_SPEED, Boolean.toString(cam.hasPtzCap(BIT_PTZ_SPEED)));
+            properties.put(SynoApiResponse.PROP_PTZ_ZOOM_SPEED, Boolean.toString(cam.hasPtzCap(BIT_PTZ_ZOOM_SPEED)));
         }
 
         return properties;
     }
-
-    /**
-     * @param ptzCap
-     * @param bit
-     * @return
-     */
-    private String isBitSetAsString(int hexValue, int bit) {
-        return Boolean.toString(isBitSet(String.valueOf(hexValue), bit));
-    }
-
 }
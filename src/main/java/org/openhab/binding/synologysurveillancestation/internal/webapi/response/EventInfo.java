@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link EventInfo} holds one event of an event response
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class EventInfo {
+    long eventId = -1;
+    String cameraId = "";
+    int reason = 0;
+    long startTime = 0;
+    boolean completed = true;
+
+    /**
+     * @return the event ID
+     */
+    public long getEventId() {
+        return eventId;
+    }
+
+    /**
+     * @return ID of the camera of the event
+     */
+    public String getCameraId() {
+        return cameraId;
+    }
+
+    /**
+     * @return the event reason
+     */
+    public int getReason() {
+        return reason;
+    }
+
+    /**
+     * @return the start time in seconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return true if the event is completed
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+}
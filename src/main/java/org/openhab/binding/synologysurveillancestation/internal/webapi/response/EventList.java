@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link EventList} holds the data of an event response
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class EventList {
+    long timestamp = 0;
+    int total = 0;
+    List<EventInfo> events = Collections.emptyList();
+
+    /**
+     * @return the station time of the response in seconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return number of matching events on all pages
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the events, latest first
+     */
+    public List<EventInfo> getEvents() {
+        return events;
+    }
+}
@@ -12,18 +12,20 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.synologysurveillancestation.internal.webapi.SynoEvent;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 
 /**
- * {@link EventResponse} is a response with current events
+ * {@link EventResponse} is a response with current events of one or several cameras
  *
  * @author Pavion - Initial contribution
  */
@@ -31,8 +33,12 @@ import com.google.gson.JsonObject;
 public class EventResponse extends SimpleResponse {
     private static final int EVENT_POLL_OVERHEAD = 30;
 
-    private Map<Integer, SynoEvent> synoEvents = new HashMap<>();
+    private final Map<String, Map<Integer, SynoEvent>> synoEvents = new HashMap<>();
     private long timestamp = 0;
+    private int eventCount = 0;
+    private int total = 0;
+
+    private static final TypeAdapter<EventList> ADAPTER = SynoApiTypeAdapters.getAdapter(EventList.class);
 
     /**
      * Constructs SynoEvents from JSON string.
@@ -40,22 +46,63 @@ public class EventResponse extends SimpleResponse {
      * @param jsonResponse
      */
     public EventResponse(String jsonResponse) {
-        super(jsonResponse);
-        if (isSuccess()) {
-            JsonArray events = getData().getAsJsonArray("events");
-            timestamp = getData().getAsJsonObject().get("timestamp").getAsLong() - EVENT_POLL_OVERHEAD;
-            for (JsonElement event : events) {
-                if (event.isJsonObject()) {
-                    JsonObject cam = event.getAsJsonObject();
-                    int reason = cam.get("reason").getAsInt();
-                    if (!hasEvent(reason)) {
-                        long starttime = cam.get("startTime").getAsLong();
-                        long eventId = cam.get("eventId").getAsLong();
-                        boolean eventCompleted = cam.get("is_complete").getAsBoolean();
-                        synoEvents.put(reason, new SynoEvent(eventId, eventCompleted, reason));
-                        if (!eventCompleted && starttime < timestamp) {
-                            timestamp = starttime;
-                        }
+        super(jsonResponse, ADAPTER);
+        index();
+    }
+
+    /**
+     * Constructs SynoEvents while reading the JSON result.
+     *
+     * @param reader
+     * @throws IOException
+     */
+    public EventResponse(JsonReader reader) throws IOException {
+        super(reader, ADAPTER);
+        index();
+    }
+
+    /**
+     * Constructs a successful response without events.
+     *
+     * @param timestamp timestamp of the station
+     * @param total number of matching events on all pages
+     */
+    private EventResponse(long timestamp, int total) {
+        super(true);
+        this.timestamp = timestamp - EVENT_POLL_OVERHEAD;
+        this.total = total;
+    }
+
+    /**
+     * Creates the response of a poll without events, e.g. from a pre-scanned response
+     *
+     * @param timestamp timestamp of the station
+     * @param total number of matching events on all pages
+     * @return response without events
+     */
+    public static EventResponse empty(long timestamp, int total) {
+        return new EventResponse(timestamp, total);
+    }
+
+    /**
+     * Keeps the latest event per camera and reason and the timestamp for the next poll
+     */
+    private void index() {
+        EventList eventList = getData(EventList.class);
+        if (isSuccess() && eventList != null) {
+            timestamp = eventList.getTimestamp() - EVENT_POLL_OVERHEAD;
+            eventCount = eventList.getEvents().size();
+            total = eventList.getTotal();
+            for (EventInfo event : eventList.getEvents()) {
+                Map<Integer, SynoEvent> cameraEvents = synoEvents.computeIfAbsent(event.getCameraId(),
+                        k -> new HashMap<>());
+                cameraEvents.merge(event.getReason(), new SynoEvent(event.getEventId(), event.isCompleted(),
+                        event.getReason(), event.getStartTime()), SynoEvent::newer);
+            }
+            for (Map<Integer, SynoEvent> cameraEvents : synoEvents.values()) {
+                for (SynoEvent event : cameraEvents.values()) {
+                    if (!event.isEventCompleted() && event.getStartTime() < timestamp) {
+                        timestamp = event.getStartTime();
                     }
                 }
             }
@@ -63,17 +110,19 @@ public class EventResponse extends SimpleResponse {
     }
 
     /**
-     * @return if the event with specified reason exists
+     * @return IDs of the cameras with events in this response
      */
-    public boolean hasEvent(int eventReason) {
-        return synoEvents.containsKey(eventReason);
+    public Set<String> getCameraIds() {
+        return Collections.unmodifiableSet(synoEvents.keySet());
     }
 
     /**
-     * @return the event with specified reason
+     * @param cameraId
+     * @return the latest event per reason of the camera
      */
-    public SynoEvent getEvent(int eventReason) {
-        return synoEvents.get(eventReason);
+    public Map<Integer, SynoEvent> getEvents(String cameraId) {
+        Map<Integer, SynoEvent> cameraEvents = synoEvents.get(cameraId);
+        return cameraEvents == null ? Collections.emptyMap() : Collections.unmodifiableMap(cameraEvents);
     }
 
     /**
@@ -83,4 +132,18 @@ public class EventResponse extends SimpleResponse {
         return timestamp;
     }
 
+    /**
+     * @return number of events on this page
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return number of matching events on all pages
+     */
+    public int getTotal() {
+        return total;
+    }
+
 }
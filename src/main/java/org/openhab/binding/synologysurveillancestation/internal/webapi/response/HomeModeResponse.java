@@ -12,8 +12,12 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
+import com.google.gson.stream.JsonReader;
+
 /**
  * {@link HomeModeResponse} provides response for Home Mode
  *
@@ -28,6 +32,14 @@ public class HomeModeResponse extends SimpleResponse {
         super(jsonResponse);
     }
 
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public HomeModeResponse(JsonReader reader) throws IOException {
+        super(reader);
+    }
+
     /**
      * @return
      */
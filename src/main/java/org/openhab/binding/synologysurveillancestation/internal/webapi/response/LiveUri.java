@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link LiveUri} holds the live view paths of one camera
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class LiveUri {
+    String id = "";
+    String rtspPath = "";
+    String mjpegHttpPath = "";
+
+    /**
+     * @return ID of the camera
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the RTSP path
+     */
+    public String getRtspPath() {
+        return rtspPath;
+    }
+
+    /**
+     * @return the MJPEG over HTTP path
+     */
+    public String getMjpegHttpPath() {
+        return mjpegHttpPath;
+    }
+}
@@ -12,11 +12,15 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 
 /**
  * {@link LiveUriResponse} is a response for live URIs
@@ -26,15 +30,43 @@ import com.google.gson.JsonObject;
 @NonNullByDefault
 public class LiveUriResponse extends SimpleResponse {
 
+    private static final TypeAdapter<List<LiveUri>> ADAPTER = SynoApiTypeAdapters.list(LiveUri.class);
+
     /**
      * @param jsonResponse
      */
     public LiveUriResponse(String jsonResponse) {
-        super(jsonResponse);
+        super(jsonResponse, ADAPTER);
+    }
+
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public LiveUriResponse(JsonReader reader) throws IOException {
+        super(reader, ADAPTER);
+    }
+
+    /**
+     * @return live URIs of the requested cameras
+     */
+    @SuppressWarnings("unchecked")
+    public List<LiveUri> getUris() {
+        List<LiveUri> uris = getData(List.class);
+        return uris == null ? Collections.emptyList() : uris;
     }
 
-    public JsonArray getUris() {
-        return getDataAsJsonArray();
+    /**
+     * @param cameraId
+     * @return live URIs of the camera or null if not part of the response
+     */
+    public @Nullable LiveUri getUri(String cameraId) {
+        for (LiveUri uri : getUris()) {
+            if (uri.getId().equals(cameraId)) {
+                return uri;
+            }
+        }
+        return null;
     }
 
     /**
@@ -42,13 +74,8 @@ public class LiveUriResponse extends SimpleResponse {
      *
      */
     public String getRtsp() {
-        for (JsonElement jUri : getUris()) {
-            if (jUri.isJsonObject()) {
-                JsonObject uri = jUri.getAsJsonObject();
-                return uri.get("rtspPath").getAsString();
-            }
-        }
-        return "";
+        List<LiveUri> uris = getUris();
+        return uris.isEmpty() ? "" : uris.get(0).getRtspPath();
     }
 
     /**
@@ -56,12 +83,7 @@ public class LiveUriResponse extends SimpleResponse {
      *
      */
     public String getMjpegHttp() {
-        for (JsonElement jUri : getUris()) {
-            if (jUri.isJsonObject()) {
-                JsonObject uri = jUri.getAsJsonObject();
-                return uri.get("mjpegHttpPath").getAsString();
-            }
-        }
-        return "";
+        List<LiveUri> uris = getUris();
+        return uris.isEmpty() ? "" : uris.get(0).getMjpegHttpPath();
     }
 }
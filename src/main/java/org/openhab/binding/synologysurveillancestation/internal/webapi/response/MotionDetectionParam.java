@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link MotionDetectionParam} holds the motion detection parameters of one camera
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class MotionDetectionParam {
+    String source = "";
+    boolean keep = false;
+    CameraEventResponseObject objectSize = new CameraEventResponseObject();
+    CameraEventResponseObject sensitivity = new CameraEventResponseObject();
+    CameraEventResponseObject threshold = new CameraEventResponseObject();
+    CameraEventResponseObject history = new CameraEventResponseObject();
+    CameraEventResponseObject shortLiveSecond = new CameraEventResponseObject();
+    CameraEventResponseObject percentage = new CameraEventResponseObject();
+
+    /**
+     * @return the detection source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the keep parameter
+     */
+    public boolean isKeep() {
+        return keep;
+    }
+
+    /**
+     * @return the object size
+     */
+    public CameraEventResponseObject getObjectSize() {
+        return objectSize;
+    }
+
+    /**
+     * @return the sensitivity
+     */
+    public CameraEventResponseObject getSensitivity() {
+        return sensitivity;
+    }
+
+    /**
+     * @return the threshold
+     */
+    public CameraEventResponseObject getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return the history
+     */
+    public CameraEventResponseObject getHistory() {
+        return history;
+    }
+
+    /**
+     * @return the short live second
+     */
+    public CameraEventResponseObject getShortLiveSecond() {
+        return shortLiveSecond;
+    }
+
+    /**
+     * @return the percentage
+     */
+    public CameraEventResponseObject getPercentage() {
+        return percentage;
+    }
+}
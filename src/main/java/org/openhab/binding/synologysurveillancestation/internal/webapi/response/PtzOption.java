@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link PtzOption} holds one PTZ preset or patrol
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class PtzOption {
+    String id = "";
+    String name = "";
+
+    /**
+     * @return the preset or patrol ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the preset or patrol name
+     */
+    public String getName() {
+        return name;
+    }
+}
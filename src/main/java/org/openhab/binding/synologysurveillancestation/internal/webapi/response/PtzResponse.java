@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * {@link PtzResponse} is a response for PTZ commands and the lists of presets and patrols
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public class PtzResponse extends SimpleResponse {
+
+    private static final TypeAdapter<List<PtzOption>> ADAPTER = SynoApiTypeAdapters.listMember(PtzOption.class,
+            "presets", "patrols");
+
+    /**
+     * @param jsonResponse
+     */
+    public PtzResponse(String jsonResponse) {
+        super(jsonResponse, ADAPTER);
+    }
+
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public PtzResponse(JsonReader reader) throws IOException {
+        super(reader, ADAPTER);
+    }
+
+    /**
+     * @return presets or patrols of the response
+     */
+    @SuppressWarnings("unchecked")
+    public List<PtzOption> getOptions() {
+        List<PtzOption> options = getData(List.class);
+        return options == null ? Collections.emptyList() : options;
+    }
+}
@@ -12,8 +12,13 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
 /**
  * {@link SimpleResponse} is a simplest implementation of an API response
  *
@@ -29,4 +34,35 @@ public class SimpleResponse extends SynoApiResponse {
         super(jsonResponse);
     }
 
+    /**
+     * @param reader
+     * @throws IOException
+     */
+    public SimpleResponse(JsonReader reader) throws IOException {
+        super(reader);
+    }
+
+    /**
+     * @param success
+     */
+    protected SimpleResponse(boolean success) {
+        super(success);
+    }
+
+    /**
+     * @param jsonResponse
+     * @param dataAdapter adapter of the data member
+     */
+    protected SimpleResponse(String jsonResponse, TypeAdapter<?> dataAdapter) {
+        super(jsonResponse, dataAdapter);
+    }
+
+    /**
+     * @param reader
+     * @param dataAdapter adapter of the data member
+     * @throws IOException
+     */
+    protected SimpleResponse(JsonReader reader, TypeAdapter<?> dataAdapter) throws IOException {
+        super(reader, dataAdapter);
+    }
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link StreamInfo} is the immutable record of one stream of a camera
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public final class StreamInfo {
+    private final int streamNo;
+    private final String resolution;
+    private final int fps;
+    private final int bitrate;
+
+    /**
+     * @param streamNo
+     * @param resolution
+     * @param fps
+     * @param bitrate
+     */
+    StreamInfo(int streamNo, String resolution, int fps, int bitrate) {
+        this.streamNo = streamNo;
+        this.resolution = resolution;
+        this.fps = fps;
+        this.bitrate = bitrate;
+    }
+
+    /**
+     * @return the stream number
+     */
+    public int getStreamNo() {
+        return streamNo;
+    }
+
+    /**
+     * @return the resolution
+     */
+    public String getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return the frames per second
+     */
+    public int getFps() {
+        return fps;
+    }
+
+    /**
+     * @return the bitrate
+     */
+    public int getBitrate() {
+        return bitrate;
+    }
+}
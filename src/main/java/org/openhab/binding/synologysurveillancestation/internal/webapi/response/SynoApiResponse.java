@@ -12,12 +12,20 @@
  */
 package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
 /**
  * {@link SynoApiResponse} is an abstract class for an API response
@@ -49,28 +57,134 @@ public abstract class SynoApiResponse {
     public static final String PROP_PTZ_SPEED = "ptz_speed";
     public static final String PROP_PTZ_ZOOM_SPEED = "ptz_zoom_speed";
 
-    private JsonObject jsonResponse = new JsonParser().parse("{\"data\":{},\"success\":false}").getAsJsonObject();
+    private static final TypeAdapter<JsonElement> TREE_ADAPTER = SynoApiTypeAdapters.getTreeAdapter();
+
+    private boolean success = false;
+    private int errorcode = 0;
+    private @Nullable Object data;
 
     public SynoApiResponse() {
     }
 
     /**
+     * Creates a response without data, e.g. from a pre-scanned envelope
+     *
+     * @param success
+     */
+    protected SynoApiResponse(boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * Creates a response keeping the data as JSON tree
+     *
      * @param jsonResponse
      */
     public SynoApiResponse(String jsonResponse) {
+        this(jsonResponse, TREE_ADAPTER);
+    }
+
+    /**
+     * Creates a response binding the data with the given adapter
+     *
+     * @param jsonResponse
+     * @param dataAdapter adapter of the data member
+     */
+    protected SynoApiResponse(String jsonResponse, TypeAdapter<?> dataAdapter) {
+        try (JsonReader reader = new JsonReader(new StringReader(jsonResponse))) {
+            read(reader, dataAdapter);
+        } catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+            // keep default values
+            success = false;
+        }
+    }
+
+    /**
+     * Creates a response keeping the data as JSON tree
+     *
+     * @param reader reader of the JSON result, e.g. of the streamed response content
+     * @throws IOException if the content can't be read
+     */
+    public SynoApiResponse(JsonReader reader) throws IOException {
+        this(reader, TREE_ADAPTER);
+    }
+
+    /**
+     * Creates a response binding the data with the given adapter while it is read. Malformed JSON results in an
+     * unsuccessful response, other I/O failures are passed on.
+     *
+     * @param reader reader of the JSON result, e.g. of the streamed response content
+     * @param dataAdapter adapter of the data member
+     * @throws IOException if the content can't be read
+     */
+    protected SynoApiResponse(JsonReader reader, TypeAdapter<?> dataAdapter) throws IOException {
         try {
-            JsonObject json = new JsonParser().parse(jsonResponse).getAsJsonObject();
-            this.jsonResponse = json;
-        } catch (JsonSyntaxException e) {
-            // keep default value
+            read(reader, dataAdapter);
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException | JsonParseException e) {
+            // keep default values
+            success = false;
+        }
+    }
+
+    /**
+     * Reads the envelope of the response, the data is passed to the adapter
+     *
+     * @param reader
+     * @param dataAdapter
+     * @throws IOException
+     */
+    private void read(JsonReader reader, TypeAdapter<?> dataAdapter) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "success":
+                    success = reader.nextBoolean();
+                    break;
+                case "error":
+                    readError(reader);
+                    break;
+                case "data":
+                    data = dataAdapter.read(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
         }
+        reader.endObject();
+    }
+
+    private void readError(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("code".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                errorcode = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * @param type
+     * @return the data bound by the adapter or null if missing
+     */
+    protected <D> @Nullable D getData(Class<D> type) {
+        Object value = data;
+        return type.isInstance(value) ? type.cast(value) : null;
     }
 
     /**
      * @return
      */
     public JsonObject getData() {
-        JsonObject ret = jsonResponse.getAsJsonObject("data");
+        JsonObject ret = getData(JsonObject.class);
         if (ret == null) {
             return new JsonObject();
         }
@@ -82,7 +196,7 @@ public abstract class SynoApiResponse {
      * @return
      */
     public JsonArray getDataAsJsonArray() {
-        JsonArray ret = jsonResponse.getAsJsonArray("data");
+        JsonArray ret = getData(JsonArray.class);
         if (ret == null) {
             return new JsonArray();
         }
@@ -93,27 +207,19 @@ public abstract class SynoApiResponse {
      * @return
      */
     public boolean isSuccess() {
-        if (jsonResponse.has("success")) {
-            return jsonResponse.get("success").getAsBoolean();
-        }
-        return false;
+        return success;
     }
 
     /**
      * @return
      */
     public int getErrorcode() {
-        if (jsonResponse.has("error")) {
-            if (jsonResponse.getAsJsonObject("error").has("code")) {
-                return jsonResponse.getAsJsonObject("error").get("code").getAsInt();
-            }
-        }
-        return 0;
+        return errorcode;
     }
 
     @Override
     public String toString() {
-        return jsonResponse.toString();
+        return getClass().getSimpleName() + " [success=" + success + ", errorcode=" + errorcode + "]";
     }
 
     /**
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * {@link SynoApiResponseFactory} creates the API response of a request while reading its JSON result, usually a
+ * constructor reference of the response class.
+ *
+ * @param <T> type of the response
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface SynoApiResponseFactory<T extends SynoApiResponse> {
+
+    /**
+     * @param reader reader of the JSON result
+     * @return response
+     * @throws IOException if the content can't be read
+     */
+    T create(JsonReader reader) throws IOException;
+}
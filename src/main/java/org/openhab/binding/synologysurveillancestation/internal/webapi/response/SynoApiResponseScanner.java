@@ -0,0 +1,472 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link SynoApiResponseScanner} finds the envelope of an API response, i.e. {@code success}, {@code error.code}
+ * and whether there is any {@code data}, directly in the raw response bytes. Nothing is decoded or copied, so
+ * error responses and responses without data can be handled without parsing them.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public final class SynoApiResponseScanner {
+
+    private static final byte[] SUCCESS = bytes("success");
+    private static final byte[] ERROR = bytes("error");
+    private static final byte[] DATA = bytes("data");
+    private static final byte[] CODE = bytes("code");
+
+    /**
+     * Envelope of a scanned response
+     */
+    public static final class Envelope {
+        private final boolean success;
+        private final int errorcode;
+        private final boolean data;
+        private final boolean ascii;
+        private final int dataStart;
+        private final int dataEnd;
+
+        private Envelope(boolean success, int errorcode, boolean data, boolean ascii, int dataStart, int dataEnd) {
+            this.success = success;
+            this.errorcode = errorcode;
+            this.data = data;
+            this.ascii = ascii;
+            this.dataStart = dataStart;
+            this.dataEnd = dataEnd;
+        }
+
+        /**
+         * @return value of the success member
+         */
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * @return error code or 0 if none
+         */
+        public int getErrorcode() {
+            return errorcode;
+        }
+
+        /**
+         * @return true if the response has neither data nor anything else to parse, e.g. an error
+         */
+        public boolean isEmpty() {
+            return !data;
+        }
+
+        /**
+         * @return true if the response contains only ASCII characters
+         */
+        public boolean isAscii() {
+            return ascii;
+        }
+
+        /**
+         * @return key of responses with this envelope, equal for all empty responses with the same outcome
+         */
+        public int getKey() {
+            return success ? -1 : errorcode;
+        }
+    }
+
+    /**
+     * Position while scanning, an instance is used by a single scan
+     */
+    private static class Cursor {
+        private final byte[] buffer;
+        private final int end;
+        private int pos;
+        private boolean ascii = true;
+
+        private Cursor(byte[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.pos = offset;
+            this.end = offset + length;
+        }
+    }
+
+    private SynoApiResponseScanner() {
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Scans the envelope of a complete response.
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return envelope or null if the response isn't a well-formed JSON object
+     */
+    public static @Nullable Envelope scan(byte[] buffer, int offset, int length) {
+        Cursor c = new Cursor(buffer, offset, length);
+        boolean success = false;
+        int errorcode = 0;
+        boolean data = false;
+        int dataStart = -1;
+        int dataEnd = -1;
+        if (!consume(c, '{')) {
+            return null;
+        }
+        if (!consume(c, '}')) {
+            do {
+                skipWhitespace(c);
+                int keyStart = c.pos + 1;
+                if (!skipString(c)) {
+                    return null;
+                }
+                int keyLength = c.pos - keyStart - 1;
+                if (!consume(c, ':')) {
+                    return null;
+                }
+                skipWhitespace(c);
+                if (equals(c, keyStart, keyLength, SUCCESS)) {
+                    if (startsWith(c, "true")) {
+                        success = true;
+                    } else if (!startsWith(c, "false")) {
+                        return null;
+                    }
+                    c.pos += success ? 4 : 5;
+                } else if (equals(c, keyStart, keyLength, ERROR)) {
+                    errorcode = scanErrorcode(c);
+                    if (errorcode < 0) {
+                        return null;
+                    }
+                } else {
+                    boolean dataMember = equals(c, keyStart, keyLength, DATA);
+                    int valueStart = c.pos;
+                    if (!skipValue(c)) {
+                        return null;
+                    }
+                    if (dataMember) {
+                        dataStart = valueStart;
+                        dataEnd = c.pos;
+                    }
+                    // any other member than an empty data has to be parsed
+                    data |= !dataMember || !isEmptyValue(c, valueStart);
+                }
+            } while (consume(c, ','));
+            if (!consume(c, '}')) {
+                return null;
+            }
+        }
+        skipWhitespace(c);
+        return c.pos == c.end ? new Envelope(success, errorcode, data, c.ascii, dataStart, dataEnd) : null;
+    }
+
+    /**
+     * Checks a member of the data object of a scanned response.
+     *
+     * @param buffer the scanned response
+     * @param envelope envelope of the response
+     * @param name name of the member
+     * @return true if the member is an empty array, an empty object or null
+     */
+    public static boolean isEmptyMember(byte[] buffer, Envelope envelope, String name) {
+        Cursor c = findMember(buffer, envelope, name);
+        if (c == null) {
+            return false;
+        }
+        int valueStart = c.pos;
+        return skipValue(c) && isEmptyValue(c, valueStart);
+    }
+
+    /**
+     * Reads a numeric member of the data object of a scanned response, the number may be quoted.
+     *
+     * @param buffer the scanned response
+     * @param envelope envelope of the response
+     * @param name name of the member
+     * @return value of the member or null if it is missing or not a non-negative integer
+     */
+    public static @Nullable Long getNumberMember(byte[] buffer, Envelope envelope, String name) {
+        Cursor c = findMember(buffer, envelope, name);
+        if (c == null) {
+            return null;
+        }
+        boolean quoted = c.buffer[c.pos] == '"';
+        if (quoted) {
+            c.pos++;
+        }
+        long value = 0;
+        int start = c.pos;
+        while (c.pos < c.end && c.buffer[c.pos] >= '0' && c.buffer[c.pos] <= '9' && c.pos - start < 18) {
+            value = value * 10 + c.buffer[c.pos++] - '0';
+        }
+        if (c.pos == start || (quoted && !consume(c, '"'))) {
+            return null;
+        }
+        skipWhitespace(c);
+        return c.pos < c.end && (c.buffer[c.pos] == ',' || c.buffer[c.pos] == '}') ? value : null;
+    }
+
+    /**
+     * Finds a member of the data object
+     *
+     * @return cursor placed at the value of the member or null if the data is no object or has no such member
+     */
+    private static @Nullable Cursor findMember(byte[] buffer, Envelope envelope, String name) {
+        if (envelope.dataStart < 0) {
+            return null;
+        }
+        Cursor c = new Cursor(buffer, envelope.dataStart, envelope.dataEnd - envelope.dataStart);
+        byte[] member = bytes(name);
+        if (!consume(c, '{') || consume(c, '}')) {
+            return null;
+        }
+        do {
+            skipWhitespace(c);
+            int keyStart = c.pos + 1;
+            if (!skipString(c)) {
+                return null;
+            }
+            int keyLength = c.pos - keyStart - 1;
+            if (!consume(c, ':')) {
+                return null;
+            }
+            skipWhitespace(c);
+            if (equals(c, keyStart, keyLength, member)) {
+                return c.pos < c.end ? c : null;
+            }
+            if (!skipValue(c)) {
+                return null;
+            }
+        } while (consume(c, ','));
+        return null;
+    }
+
+    /**
+     * Returns a reader of a complete ASCII response. The bytes are read as characters without decoding or copying.
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return reader
+     */
+    public static Reader newAsciiReader(byte[] buffer, int offset, int length) {
+        return new AsciiReader(buffer, offset, length);
+    }
+
+    /**
+     * @param charset
+     * @return true if ASCII bytes are the same characters in the charset
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    private static int scanErrorcode(Cursor c) {
+        int code = 0;
+        if (!consume(c, '{')) {
+            return -1;
+        }
+        if (consume(c, '}')) {
+            return 0;
+        }
+        do {
+            skipWhitespace(c);
+            int keyStart = c.pos + 1;
+            if (!skipString(c)) {
+                return -1;
+            }
+            int keyLength = c.pos - keyStart - 1;
+            if (!consume(c, ':')) {
+                return -1;
+            }
+            skipWhitespace(c);
+            if (equals(c, keyStart, keyLength, CODE)) {
+                code = 0;
+                int start = c.pos;
+                while (c.pos < c.end && c.buffer[c.pos] >= '0' && c.buffer[c.pos] <= '9') {
+                    code = code * 10 + c.buffer[c.pos++] - '0';
+                }
+                if (c.pos == start) {
+                    return -1;
+                }
+            } else if (!skipValue(c)) {
+                return -1;
+            }
+        } while (consume(c, ','));
+        return consume(c, '}') ? code : -1;
+    }
+
+    private static boolean isEmptyValue(Cursor c, int start) {
+        byte first = c.buffer[start];
+        if (first == 'n') {
+            return true;
+        }
+        if (first != '{' && first != '[') {
+            return false;
+        }
+        for (int i = start + 1; i < c.pos - 1; i++) {
+            if (!isWhitespace(c.buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean skipValue(Cursor c) {
+        skipWhitespace(c);
+        if (c.pos >= c.end) {
+            return false;
+        }
+        byte b = c.buffer[c.pos];
+        if (b == '"') {
+            return skipString(c);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (c.pos < c.end) {
+                b = c.buffer[c.pos];
+                if (b == '"') {
+                    if (!skipString(c)) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        c.pos++;
+                        return true;
+                    }
+                }
+                c.pos++;
+            }
+            return false;
+        }
+        // number or literal
+        int start = c.pos;
+        while (c.pos < c.end && !isWhitespace(c.buffer[c.pos]) && c.buffer[c.pos] != ','
+                && c.buffer[c.pos] != '}' && c.buffer[c.pos] != ']') {
+            c.pos++;
+        }
+        return c.pos > start;
+    }
+
+    /**
+     * Skips whitespace and a string, the cursor is placed after the closing quote
+     */
+    private static boolean skipString(Cursor c) {
+        skipWhitespace(c);
+        if (c.pos >= c.end || c.buffer[c.pos] != '"') {
+            return false;
+        }
+        c.pos++;
+        while (c.pos < c.end) {
+            byte b = c.buffer[c.pos++];
+            if (b == '"') {
+                return true;
+            } else if (b == '\\') {
+                c.pos++;
+            } else if (b < 0) {
+                c.ascii = false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean consume(Cursor c, char expected) {
+        skipWhitespace(c);
+        if (c.pos < c.end && c.buffer[c.pos] == expected) {
+            c.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean startsWith(Cursor c, String literal) {
+        if (c.end - c.pos < literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (c.buffer[c.pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(Cursor c, int start, int length, byte[] name) {
+        if (length != name.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (c.buffer[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skipWhitespace(Cursor c) {
+        while (c.pos < c.end && isWhitespace(c.buffer[c.pos])) {
+            c.pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Reader of ASCII bytes
+     */
+    private static class AsciiReader extends Reader {
+        private final byte[] buffer;
+        private final int end;
+        private int pos;
+
+        private AsciiReader(byte[] buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.pos = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read(char @Nullable [] cbuf, int off, int len) {
+            if (cbuf == null) {
+                throw new IllegalArgumentException("No buffer");
+            }
+            if (pos >= end) {
+                return -1;
+            }
+            int n = Math.min(len, end - pos);
+            for (int i = 0; i < n; i++) {
+                cbuf[off + i] = (char) buffer[pos++];
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            pos = end;
+        }
+    }
+}
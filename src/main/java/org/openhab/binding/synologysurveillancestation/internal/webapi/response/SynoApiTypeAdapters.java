@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.synologysurveillancestation.internal.webapi.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * The {@link SynoApiTypeAdapters} binds the data of the API responses to typed objects. The adapters are registered
+ * once and read the JSON tokens directly, no reflection and no intermediate JSON tree is involved.
+ *
+ * @author Pavion - Initial contribution
+ */
+@NonNullByDefault
+public final class SynoApiTypeAdapters {
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(CameraInfo.class, new CameraInfoAdapter())
+            .registerTypeAdapter(StreamInfo.class, new StreamInfoAdapter())
+            .registerTypeAdapter(EventInfo.class, new EventInfoAdapter())
+            .registerTypeAdapter(EventList.class, new EventListAdapter())
+            .registerTypeAdapter(LiveUri.class, new LiveUriAdapter())
+            .registerTypeAdapter(CameraEventResponseObject.class, new ValueAdapter())
+            .registerTypeAdapter(MotionDetectionParam.class, new MotionDetectionParamAdapter())
+            .registerTypeAdapter(PtzOption.class, new PtzOptionAdapter()).create();
+
+    private SynoApiTypeAdapters() {
+    }
+
+    /**
+     * @param type
+     * @return the registered adapter of a type
+     */
+    public static <D> TypeAdapter<D> getAdapter(Class<D> type) {
+        return GSON.getAdapter(type);
+    }
+
+    /**
+     * @return adapter keeping the data as JSON tree
+     */
+    public static TypeAdapter<JsonElement> getTreeAdapter() {
+        return GSON.getAdapter(JsonElement.class);
+    }
+
+    /**
+     * Returns an adapter reading a JSON array
+     *
+     * @param type type of the elements
+     * @return adapter
+     */
+    public static <D> TypeAdapter<List<D>> list(Class<D> type) {
+        return new ListAdapter<>(getAdapter(type), Collections.emptyList());
+    }
+
+    /**
+     * Returns an adapter reading the array in one of the given members of a JSON object, other members are skipped
+     *
+     * @param type type of the elements
+     * @param members names of the member
+     * @return adapter
+     */
+    public static <D> TypeAdapter<List<D>> listMember(Class<D> type, String... members) {
+        return new ListAdapter<>(getAdapter(type), Arrays.asList(members));
+    }
+
+    /**
+     * Returns an adapter reading one member of a JSON object, other members are skipped
+     *
+     * @param type type of the member
+     * @param member name of the member
+     * @return adapter
+     */
+    public static <D> TypeAdapter<@Nullable D> member(Class<D> type, String member) {
+        return new MemberAdapter<>(getAdapter(type), member);
+    }
+
+    /**
+     * Base of the adapters, the responses are only read
+     */
+    private abstract static class ReadOnlyAdapter<D> extends TypeAdapter<D> {
+        @Override
+        public void write(@Nullable JsonWriter out, @Nullable D value) throws IOException {
+            throw new UnsupportedOperationException("Responses are read only");
+        }
+    }
+
+    private static class ListAdapter<D> extends ReadOnlyAdapter<List<D>> {
+        private final TypeAdapter<D> elementAdapter;
+        private final List<String> members;
+
+        private ListAdapter(TypeAdapter<D> elementAdapter, List<String> members) {
+            this.elementAdapter = elementAdapter;
+            this.members = members;
+        }
+
+        @Override
+        public List<D> read(@Nullable JsonReader in) throws IOException {
+            if (in == null) {
+                return Collections.emptyList();
+            }
+            if (members.isEmpty()) {
+                return readArray(in, elementAdapter);
+            }
+            List<D> list = Collections.emptyList();
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                return list;
+            }
+            in.beginObject();
+            while (in.hasNext()) {
+                if (members.contains(in.nextName())) {
+                    list = readArray(in, elementAdapter);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return list;
+        }
+    }
+
+    private static class MemberAdapter<D> extends ReadOnlyAdapter<@Nullable D> {
+        private final TypeAdapter<D> memberAdapter;
+        private final String member;
+
+        private MemberAdapter(TypeAdapter<D> memberAdapter, String member) {
+            this.memberAdapter = memberAdapter;
+            this.member = member;
+        }
+
+        @Override
+        public @Nullable D read(@Nullable JsonReader in) throws IOException {
+            if (in == null || in.peek() != JsonToken.BEGIN_OBJECT) {
+                skip(in);
+                return null;
+            }
+            D value = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if (member.equals(in.nextName()) && in.peek() != JsonToken.NULL) {
+                    value = memberAdapter.read(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    private static class CameraInfoAdapter extends ReadOnlyAdapter<CameraInfo> {
+        @Override
+        public CameraInfo read(@Nullable JsonReader in) throws IOException {
+            CameraInfo.Builder camera = new CameraInfo.Builder();
+            if (!beginObject(in)) {
+                return camera.build();
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        camera.id = nextString(in);
+                        break;
+                    case "name":
+                        camera.name = nextString(in);
+                        break;
+                    case "enabled":
+                        camera.enabled = nextBoolean(in);
+                        break;
+                    case "recStatus":
+                        camera.recStatus = nextInt(in);
+                        break;
+                    case "ptzCap":
+                        camera.ptzCap = nextInt(in);
+                        break;
+                    case SynoApiResponse.PROP_VENDOR:
+                        camera.vendor = nextString(in);
+                        break;
+                    case SynoApiResponse.PROP_MODEL:
+                        camera.model = nextString(in);
+                        break;
+                    case SynoApiResponse.PROP_DEVICETYPE:
+                        camera.deviceType = nextString(in);
+                        break;
+                    case SynoApiResponse.PROP_HOST:
+                        camera.host = nextString(in);
+                        break;
+                    case SynoApiResponse.PROP_RESOLUTION:
+                        camera.resolution = nextString(in);
+                        break;
+                    case SynoApiResponse.PROP_TYPE:
+                        camera.type = nextString(in);
+                        break;
+                    case "stm_info":
+                        camera.streams = readArray(in, getAdapter(StreamInfo.class));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return camera.build();
+        }
+    }
+
+    private static class StreamInfoAdapter extends ReadOnlyAdapter<StreamInfo> {
+        @Override
+        public StreamInfo read(@Nullable JsonReader in) throws IOException {
+            int streamNo = 0;
+            String resolution = "";
+            int fps = 0;
+            int bitrate = 0;
+            if (beginObject(in)) {
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "stmNo":
+                            streamNo = nextInt(in);
+                            break;
+                        case "resolution":
+                            resolution = nextString(in);
+                            break;
+                        case "fps":
+                            fps = nextInt(in);
+                            break;
+                        case "bitrate":
+                            bitrate = nextInt(in);
+                            break;
+                        default:
+                            in.skipValue();
+                            break;
+                    }
+                }
+                in.endObject();
+            }
+            return new StreamInfo(streamNo, resolution, fps, bitrate);
+        }
+    }
+
+    private static class EventInfoAdapter extends ReadOnlyAdapter<EventInfo> {
+        @Override
+        public EventInfo read(@Nullable JsonReader in) throws IOException {
+            EventInfo event = new EventInfo();
+            if (!beginObject(in)) {
+                return event;
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "eventId":
+                        event.eventId = nextLong(in);
+                        break;
+                    case "cameraId":
+                        event.cameraId = nextString(in);
+                        break;
+                    case "reason":
+                        event.reason = nextInt(in);
+                        break;
+                    case "startTime":
+                        event.startTime = nextLong(in);
+                        break;
+                    case "is_complete":
+                        event.completed = nextBoolean(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return event;
+        }
+    }
+
+    private static class EventListAdapter extends ReadOnlyAdapter<EventList> {
+        @Override
+        public EventList read(@Nullable JsonReader in) throws IOException {
+            EventList events = new EventList();
+            if (!beginObject(in)) {
+                return events;
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "timestamp":
+                        events.timestamp = nextLong(in);
+                        break;
+                    case "total":
+                        events.total = nextInt(in);
+                        break;
+                    case "events":
+                        events.events = readArray(in, getAdapter(EventInfo.class));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return events;
+        }
+    }
+
+    private static class LiveUriAdapter extends ReadOnlyAdapter<LiveUri> {
+        @Override
+        public LiveUri read(@Nullable JsonReader in) throws IOException {
+            LiveUri uri = new LiveUri();
+            if (!beginObject(in)) {
+                return uri;
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        uri.id = nextString(in);
+                        break;
+                    case "rtspPath":
+                        uri.rtspPath = nextString(in);
+                        break;
+                    case "mjpegHttpPath":
+                        uri.mjpegHttpPath = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return uri;
+        }
+    }
+
+    private static class ValueAdapter extends ReadOnlyAdapter<CameraEventResponseObject> {
+        @Override
+        public CameraEventResponseObject read(@Nullable JsonReader in) throws IOException {
+            CameraEventResponseObject value = new CameraEventResponseObject();
+            if (!beginObject(in)) {
+                return value;
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "camCap":
+                        value.setCamCap(nextBoolean(in));
+                        break;
+                    case "ssCap":
+                        value.setSsCap(nextBoolean(in));
+                        break;
+                    case "value":
+                        value.setValue(nextInt(in));
+                        break;
+                    case "minValue":
+                        value.setMinValue(nextInt(in));
+                        break;
+                    case "maxValue":
+                        value.setMaxValue(nextInt(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
+
+    private static class MotionDetectionParamAdapter extends ReadOnlyAdapter<MotionDetectionParam> {
+        @Override
+        public MotionDetectionParam read(@Nullable JsonReader in) throws IOException {
+            MotionDetectionParam param = new MotionDetectionParam();
+            if (!beginObject(in)) {
+                return param;
+            }
+            TypeAdapter<CameraEventResponseObject> valueAdapter = getAdapter(CameraEventResponseObject.class);
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "source":
+                        param.source = nextString(in);
+                        break;
+                    case "keep":
+                        param.keep = nextBoolean(in);
+                        break;
+                    case "objectSize":
+                        param.objectSize = valueAdapter.read(in);
+                        break;
+                    case "sensitivity":
+                        param.sensitivity = valueAdapter.read(in);
+                        break;
+                    case "threshold":
+                        param.threshold = valueAdapter.read(in);
+                        break;
+                    case "history":
+                        param.history = valueAdapter.read(in);
+                        break;
+                    case "shortLiveSecond":
+                        param.shortLiveSecond = valueAdapter.read(in);
+                        break;
+                    case "percentage":
+                        param.percentage = valueAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return param;
+        }
+    }
+
+    private static class PtzOptionAdapter extends ReadOnlyAdapter<PtzOption> {
+        @Override
+        public PtzOption read(@Nullable JsonReader in) throws IOException {
+            PtzOption option = new PtzOption();
+            if (!beginObject(in)) {
+                return option;
+            }
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        option.id = nextString(in);
+                        break;
+                    case "name":
+                        option.name = nextString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return option;
+        }
+    }
+
+    /**
+     * Reads a JSON array, null values are skipped
+     *
+     * @param in
+     * @param elementAdapter
+     * @return list of the elements
+     * @throws IOException
+     */
+    private static <D> List<D> readArray(JsonReader in, TypeAdapter<D> elementAdapter) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return Collections.emptyList();
+        }
+        List<D> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                list.add(elementAdapter.read(in));
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    /**
+     * Enters a JSON object, any other value is skipped
+     *
+     * @param in
+     * @return true if an object was entered
+     * @throws IOException
+     */
+    private static boolean beginObject(@Nullable JsonReader in) throws IOException {
+        if (in == null) {
+            return false;
+        }
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return false;
+        }
+        in.beginObject();
+        return true;
+    }
+
+    private static void skip(@Nullable JsonReader in) throws IOException {
+        if (in != null) {
+            in.skipValue();
+        }
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return "";
+        }
+        return in.nextString();
+    }
+
+    private static boolean nextBoolean(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case BOOLEAN:
+                return in.nextBoolean();
+            case NUMBER:
+                return in.nextInt() != 0;
+            default:
+                in.skipValue();
+                return false;
+        }
+    }
+
+    private static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.NUMBER && in.peek() != JsonToken.STRING) {
+            in.skipValue();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    private static long nextLong(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.NUMBER && in.peek() != JsonToken.STRING) {
+            in.skipValue();
+            return 0;
+        }
+        return in.nextLong();
+    }
+}